@@ -0,0 +1,32 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.SpringbootApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application on a random port against the embedded H2 database configured in
+ * {@code src/test/resources/application.properties}.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        var args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.jpa.properties.hibernate.generate_statistics=false"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplication(SpringbootApplication.class).run(args.toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+}
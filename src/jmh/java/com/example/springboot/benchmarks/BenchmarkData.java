@@ -0,0 +1,57 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.models.Client;
+import com.example.springboot.models.Order;
+import com.example.springboot.models.OrderLine;
+import com.example.springboot.models.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Detached entity graphs shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Client client() {
+        var client = new Client();
+        client.setClientId(UUID.randomUUID());
+        client.setName("John Doe");
+        client.setLogin("johndoe");
+        client.setEmail("johndoe@example.com");
+        return client;
+    }
+
+    static Product product(int index) {
+        var product = new Product();
+        product.setProductId(UUID.randomUUID());
+        product.setName("Product " + index);
+        product.setValue(BigDecimal.valueOf(index, 2));
+        return product;
+    }
+
+    static List<Order> orders(int count, int productsPerOrder) {
+        var client = client();
+        var orders = new ArrayList<Order>(count);
+        for (int i = 0; i < count; i++) {
+            var products = new HashSet<Product>();
+            for (int j = 0; j < productsPerOrder; j++) {
+                products.add(product(j));
+            }
+            var order = new Order();
+            order.setOrderId(UUID.randomUUID());
+            order.setOrderedAt(LocalDateTime.now());
+            order.setClient(client);
+            order.replaceLines(products.stream().map(product -> OrderLine.of(product, 1)).toList());
+            orders.add(order);
+        }
+        return orders;
+    }
+}
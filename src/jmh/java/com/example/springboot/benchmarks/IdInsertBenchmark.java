@@ -0,0 +1,91 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.models.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Batched inserts into a file-backed H2 table keyed by a UUID primary key, random version 4 ids
+ * ({@code GenerationType.UUID}) against time-ordered version 7 ids ({@code @TimeOrderedUuid}).
+ * The table keeps growing across iterations, so later batches insert into a large index. At
+ * tear-down the database file size per row is printed as a measure of index growth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public enum IdScheme {
+        RANDOM(UUID::randomUUID),
+        TIME_ORDERED(TimeOrderedUuidGenerator::next);
+
+        private final Supplier<UUID> generator;
+
+        IdScheme(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private IdScheme idScheme;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long rows;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("id-insert-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("orders"));
+        try (var statement = connection.createStatement()) {
+            statement.execute("create table orders (order_id uuid primary key, ordered_at timestamp)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into orders (order_id, ordered_at) values (?, ?)");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        var now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, idScheme.generator.get());
+            insert.setTimestamp(2, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        rows += BATCH_SIZE;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("checkpoint sync");
+        }
+        connection.close();
+        var bytes = Files.size(directory.resolve("orders.mv.db"));
+        System.out.printf("%n%s: %,d rows, %,d bytes on disk, %.1f bytes/row%n", idScheme, rows, bytes, (double) bytes / rows);
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.assemblers.ClientModelAssembler;
+import com.example.springboot.assemblers.OrderModelAssembler;
+import com.example.springboot.controllers.OrderController;
+import com.example.springboot.dtos.CursorPage;
+import com.example.springboot.dtos.OrderResponseDto;
+import com.example.springboot.models.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Cost of rendering one page of orders with self links and serializing it: per-element
+ * {@code linkTo(methodOn(...))} versus the assembler's precomputed collection URI.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkRenderingBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int pageSize;
+
+    private CursorPage<Order> page;
+    private OrderModelAssembler orderModelAssembler;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/orders")));
+        orderModelAssembler = new OrderModelAssembler(new ClientModelAssembler());
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        page = new CursorPage<>(BenchmarkData.orders(pageSize, 3), null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String methodOnLinkPerElement() throws Exception {
+        var models = new ArrayList<OrderResponseDto>(page.content().size());
+        for (Order order : page.content()) {
+            var model = orderModelAssembler.toModel(order);
+            model.add(linkTo(methodOn(OrderController.class).getOneOrder(order.getOrderId(), null, null)).withSelfRel());
+            models.add(model);
+        }
+        return objectMapper.writeValueAsString(CollectionModel.of(models));
+    }
+
+    @Benchmark
+    public String precomputedTemplateLinks() throws Exception {
+        return objectMapper.writeValueAsString(orderModelAssembler.toCollectionModel(page, null, null, pageSize));
+    }
+}
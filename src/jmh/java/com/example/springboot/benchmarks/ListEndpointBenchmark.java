@@ -0,0 +1,89 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.models.Order;
+import com.example.springboot.models.OrderLine;
+import com.example.springboot.models.Product;
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.OrderRepository;
+import com.example.springboot.repositories.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full HTTP round trip of the list endpoints against the embedded database, one page per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListEndpointBenchmark {
+
+    private static final int ROWS = 2_000;
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUri;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        var clientRepository = context.getBean(ClientRepository.class);
+        var productRepository = context.getBean(ProductRepository.class);
+        var orderRepository = context.getBean(OrderRepository.class);
+        for (int i = 0; i < ROWS; i++) {
+            var client = BenchmarkData.client();
+            client.setClientId(null);
+            var products = new ArrayList<Product>();
+            for (int j = 0; j < 3; j++) {
+                var product = BenchmarkData.product(j);
+                product.setProductId(null);
+                products.add(product);
+            }
+            var order = new Order();
+            order.setClient(clientRepository.save(client));
+            order.replaceLines(productRepository.saveAll(products).stream().map(product -> OrderLine.of(product, 1)).toList());
+            order.setOrderedAt(LocalDateTime.now());
+            orderRepository.save(order);
+        }
+        httpClient = HttpClient.newHttpClient();
+        baseUri = "http://localhost:" + BenchmarkApplication.port(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String orders() throws Exception {
+        return get("/orders?size=" + pageSize);
+    }
+
+    @Benchmark
+    public String products() throws Exception {
+        return get("/products?size=" + pageSize);
+    }
+
+    @Benchmark
+    public String clients() throws Exception {
+        return get("/clients?size=" + pageSize);
+    }
+
+    private String get(String path) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(baseUri + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.assemblers.ClientModelAssembler;
+import com.example.springboot.assemblers.OrderModelAssembler;
+import com.example.springboot.models.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a single order graph, with its detail links, by number of products.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int productCount;
+
+    private Order order;
+    private OrderModelAssembler orderModelAssembler;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/orders")));
+        orderModelAssembler = new OrderModelAssembler(new ClientModelAssembler());
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        order = BenchmarkData.orders(1, productCount).get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws Exception {
+        return objectMapper.writeValueAsBytes(orderModelAssembler.toDetailModel(order));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.dtos.ClientRecordDto;
+import com.example.springboot.dtos.OrderRecordDto;
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.models.Order;
+import com.example.springboot.services.ClientService;
+import com.example.springboot.services.OrderService;
+import com.example.springboot.services.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code OrderService.save} end to end against the embedded database, by number of order lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int productCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRecordDto orderRecordDto;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        orderService = context.getBean(OrderService.class);
+        var client = context.getBean(ClientService.class).save(new ClientRecordDto("John Doe", "johndoe", "johndoe@example.com"));
+        var productService = context.getBean(ProductService.class);
+        var productIds = new ArrayList<UUID>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            productIds.add(productService.save(new ProductRecordDto("Product " + i, BigDecimal.TEN)).getProductId());
+        }
+        orderRecordDto = new OrderRecordDto(client.getClientId(), productIds);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order save() {
+        return orderService.save(orderRecordDto);
+    }
+}
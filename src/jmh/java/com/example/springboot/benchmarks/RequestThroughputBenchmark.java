@@ -0,0 +1,66 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.dtos.ClientRecordDto;
+import com.example.springboot.dtos.OrderRecordDto;
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.services.ClientService;
+import com.example.springboot.services.OrderService;
+import com.example.springboot.services.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test: 64 concurrent callers against a deliberately small Tomcat worker pool and connection
+ * pool, once with platform threads and once with virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(64)
+@Fork(1)
+public class RequestThroughputBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI ordersUri;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=16",
+                "--spring.datasource.hikari.maximum-pool-size=8");
+        var client = context.getBean(ClientService.class).save(new ClientRecordDto("John Doe", "johndoe", "johndoe@example.com"));
+        var product = context.getBean(ProductService.class).save(new ProductRecordDto("Laptop", BigDecimal.TEN));
+        var orderService = context.getBean(OrderService.class);
+        for (int i = 0; i < 100; i++) {
+            orderService.save(new OrderRecordDto(client.getClientId(), List.of(product.getProductId())));
+        }
+        httpClient = HttpClient.newHttpClient();
+        ordersUri = URI.create("http://localhost:" + BenchmarkApplication.port(context) + "/orders?size=20");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listOrders() throws Exception {
+        var request = HttpRequest.newBuilder(ordersUri).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
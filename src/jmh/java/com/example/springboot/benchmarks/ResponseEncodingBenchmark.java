@@ -0,0 +1,77 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.assemblers.ClientModelAssembler;
+import com.example.springboot.assemblers.OrderModelAssembler;
+import com.example.springboot.dtos.CursorPage;
+import com.example.springboot.dtos.FieldSelection;
+import com.example.springboot.models.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time of a page of 100 orders with 5 lines each, as JSON or CBOR, with every field or
+ * only {@code orderId,orderedAt}, and with or without gzip. The payload size of each combination is
+ * printed at the end of its run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"JSON", "CBOR"})
+    private String format;
+
+    @Param({"", "orderId,orderedAt"})
+    private String fields;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private CursorPage<Order> page;
+    private OrderModelAssembler orderModelAssembler;
+    private ObjectMapper objectMapper;
+    private int payloadSize;
+
+    @Setup
+    public void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/orders")));
+        orderModelAssembler = new OrderModelAssembler(new ClientModelAssembler())
+                .withFields(FieldSelection.parse(fields, OrderModelAssembler.FIELDS));
+        objectMapper = format.equals("CBOR") ? new CBORMapper().findAndRegisterModules() : new ObjectMapper().findAndRegisterModules();
+        page = new CursorPage<>(BenchmarkData.orders(100, 5), null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        System.out.printf("%n%s, fields=%s, gzip=%s: %,d bytes%n", format, fields.isEmpty() ? "all" : fields, gzip, payloadSize);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        var buffer = new ByteArrayOutputStream();
+        var model = orderModelAssembler.toCollectionModel(page, null, null, 100);
+        if (gzip) {
+            try (var out = new GZIPOutputStream(buffer)) {
+                objectMapper.writeValue(out, model);
+            }
+        } else {
+            objectMapper.writeValue(buffer, model);
+        }
+        var bytes = buffer.toByteArray();
+        payloadSize = bytes.length;
+        return bytes;
+    }
+}
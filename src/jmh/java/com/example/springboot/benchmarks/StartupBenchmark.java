@@ -0,0 +1,148 @@
+package com.example.springboot.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request: from launching a new JVM with the application to its first successful
+ * {@code GET /products}. Compares the regular launch, which updates the schema at startup, with the
+ * fast-start profile alone, with AOT-processed bean definitions added, and with an AppCDS archive
+ * on top. Launches the jar extracted by {@code ./mvnw -P fast-start -DskipTests package}, which must
+ * be built first, against a file-backed H2 database whose schema is created once per trial. The
+ * CDS variant records its archive in a training run with the benchmark's own class path, which
+ * differs from the {@code -jar} launch the build's archive was recorded for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Path FAST_START_DIRECTORY = Path.of("target", "fast-start");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"regular", "fast-start", "fast-start-aot", "fast-start-aot-cds"})
+    private String launch;
+
+    private Path directory;
+    private String classPath;
+    private HttpClient httpClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var jar = FAST_START_DIRECTORY.resolve("springboot-0.0.1-SNAPSHOT.jar");
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException(jar + " is missing, build it with ./mvnw -P fast-start -DskipTests package");
+        }
+        var h2 = Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        classPath = jar.toAbsolutePath() + File.pathSeparator + h2;
+        directory = Files.createTempDirectory("startup-benchmark");
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        run(command("regular", List.of("-Dspring.context.exit=onRefresh"), 0, "create"));
+        if (launch.endsWith("-cds")) {
+            run(command(launch, List.of("-XX:ArchiveClassesAtExit=" + archive(), "-Xlog:cds=error", "-Dspring.context.exit=onRefresh"), 0, "none"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int firstRequest() throws Exception {
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        var jvmArgs = launch.endsWith("-cds") ? List.of("-XX:SharedArchiveFile=" + archive()) : List.<String>of();
+        var process = new ProcessBuilder(command(launch, jvmArgs, port, "update"))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products?size=1")).GET().build();
+            var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The application exited with " + process.exitValue());
+                }
+                try {
+                    var status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status == 200) {
+                        return status;
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No successful response within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    /**
+     * @param ddlAuto schema action of the regular launch; fast-start launches never touch the schema
+     */
+    private List<String> command(String launch, List<String> jvmArgs, int port, String ddlAuto) {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        if (launch.startsWith("fast-start-aot")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.addAll(List.of("-cp", classPath, "com.example.springboot.SpringbootApplication",
+                "--server.port=" + port,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("products_api") + ";NON_KEYWORDS=VALUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.jakarta.persistence.database-product-name=H2",
+                "--spring.jpa.properties.jakarta.persistence.database-major-version=2"));
+        if (launch.equals("regular")) {
+            command.addAll(List.of("--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=" + ddlAuto));
+        } else {
+            command.add("--spring.profiles.active=postgres,fast-start");
+        }
+        return command;
+    }
+
+    private Path archive() {
+        return directory.resolve("application.jsa");
+    }
+
+    private static void run(List<String> command) throws IOException, InterruptedException {
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (!process.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS) || process.exitValue() != 0) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Failed to run " + String.join(" ", command));
+        }
+    }
+}
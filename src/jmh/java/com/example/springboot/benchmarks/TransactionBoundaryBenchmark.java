@@ -0,0 +1,94 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.dtos.ClientRecordDto;
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.models.Client;
+import com.example.springboot.models.Product;
+import com.example.springboot.services.ClientService;
+import com.example.springboot.services.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service write and read use cases against the embedded database. Besides time and allocation
+ * (gc profiler), each iteration prints the connections and transactions Hibernate counted per
+ * operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBoundaryBenchmark {
+
+    private static final int PRODUCT_COUNT = 100;
+
+    private ConfigurableApplicationContext context;
+    private ClientService clientService;
+    private ProductService productService;
+    private Statistics statistics;
+    private UUID clientId;
+    private UUID productId;
+    private long operations;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        clientService = context.getBean(ClientService.class);
+        productService = context.getBean(ProductService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        clientId = clientService.save(new ClientRecordDto("John Doe", "johndoe", "johndoe@example.com")).getClientId();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            productId = productService.save(new ProductRecordDto("Product " + i, BigDecimal.TEN)).getProductId();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCounters() {
+        if (operations > 0) {
+            System.out.printf("%n%d ops: %.2f connections/op, %.2f transactions/op, %.2f flushes/op%n", operations,
+                    (double) statistics.getConnectCount() / operations,
+                    (double) statistics.getTransactionCount() / operations,
+                    (double) statistics.getFlushCount() / operations);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product updateProduct() {
+        operations++;
+        return productService.updateProduct(productId, new ProductRecordDto("Product", BigDecimal.valueOf(operations % 100)));
+    }
+
+    @Benchmark
+    public Client updateClient() {
+        operations++;
+        return clientService.updateClient(clientId, new ClientRecordDto("John Doe " + operations % 100, "johndoe", "johndoe@example.com"));
+    }
+
+    @Benchmark
+    public List<Product> getAllProducts() {
+        operations++;
+        return productService.getAllProducts();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.springboot.assemblers;
+
+import com.example.springboot.dtos.ClientResponseDto;
+import com.example.springboot.models.Client;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class ClientModelAssembler extends LinkedModelAssembler<Client, ClientResponseDto> {
+
+    public ClientModelAssembler() {
+        super("/clients", "Clients List");
+    }
+
+    @Override
+    public ClientResponseDto toModel(Client client) {
+        return new ClientResponseDto(client.getClientId(), client.getName(), client.getLogin(), client.getEmail());
+    }
+
+    @Override
+    protected UUID idOf(Client client) {
+        return client.getClientId();
+    }
+}
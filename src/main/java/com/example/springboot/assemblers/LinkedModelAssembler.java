@@ -0,0 +1,102 @@
+package com.example.springboot.assemblers;
+
+import com.example.springboot.dtos.CursorPage;
+import org.springframework.data.domain.Window;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Turns entities into response models. Links are rendered from the collection path resolved once per
+ * request instead of going through {@code WebMvcLinkBuilder.methodOn} proxies for every element.
+ */
+public abstract class LinkedModelAssembler<E, M extends RepresentationModel<M>> {
+
+    private final String collectionPath;
+    private final LinkRelation collectionRelation;
+
+    protected LinkedModelAssembler(String collectionPath, String collectionRelation) {
+        this.collectionPath = collectionPath;
+        this.collectionRelation = LinkRelation.of(collectionRelation);
+    }
+
+    public abstract M toModel(E entity);
+
+    protected abstract UUID idOf(E entity);
+
+    /**
+     * Single-resource view, linking back to the collection.
+     */
+    public M toDetailModel(E entity) {
+        var model = toModel(entity);
+        model.add(Link.of(collectionUri(), collectionRelation));
+        return model;
+    }
+
+    /**
+     * Collection view: every element carries its self link, the collection carries self/next/prev links
+     * that keep the page size.
+     */
+    public CollectionModel<M> toCollectionModel(CursorPage<E> page, UUID after, UUID before, int size) {
+        var models = toItemModels(page.content());
+        var collection = CollectionModel.of(models, pageLink(after, before, size, IanaLinkRelations.SELF));
+        if (page.nextCursor() != null) {
+            collection.add(pageLink(page.nextCursor(), null, size, IanaLinkRelations.NEXT));
+        }
+        if (page.previousCursor() != null) {
+            collection.add(pageLink(null, page.previousCursor(), size, IanaLinkRelations.PREV));
+        }
+        return collection;
+    }
+
+    /**
+     * Search results: next/prev links repeat the request with the page number changed, keeping the
+     * filters and sort.
+     */
+    public CollectionModel<M> toSearchModel(Window<E> window, int page) {
+        var collection = CollectionModel.of(toItemModels(window.getContent()), searchLink(page, IanaLinkRelations.SELF));
+        if (window.hasNext()) {
+            collection.add(searchLink(page + 1, IanaLinkRelations.NEXT));
+        }
+        if (page > 0) {
+            collection.add(searchLink(page - 1, IanaLinkRelations.PREV));
+        }
+        return collection;
+    }
+
+    private List<M> toItemModels(List<E> entities) {
+        var itemUriPrefix = collectionUri() + "/";
+        var models = new ArrayList<M>(entities.size());
+        for (E entity : entities) {
+            var model = toModel(entity);
+            model.add(Link.of(itemUriPrefix + idOf(entity)));
+            models.add(model);
+        }
+        return models;
+    }
+
+    private Link searchLink(int page, LinkRelation relation) {
+        return Link.of(ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("page", page).toUriString(), relation);
+    }
+
+    private String collectionUri() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path(collectionPath).toUriString();
+    }
+
+    private Link pageLink(UUID after, UUID before, int size, LinkRelation relation) {
+        var uri = ServletUriComponentsBuilder.fromCurrentContextPath().path(collectionPath)
+                .queryParamIfPresent("after", Optional.ofNullable(after))
+                .queryParamIfPresent("before", Optional.ofNullable(before))
+                .queryParam("size", size)
+                .toUriString();
+        return Link.of(uri, relation);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.springboot.assemblers;
+
+import com.example.springboot.dtos.OrderResponseDto;
+import com.example.springboot.dtos.FieldSelection;
+import com.example.springboot.dtos.OrderLineResponseDto;
+import com.example.springboot.models.Order;
+import com.example.springboot.models.OrderLine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+public class OrderModelAssembler extends LinkedModelAssembler<Order, OrderResponseDto> {
+
+    /**
+     * Fields that can be selected with {@code fields=}.
+     */
+    public static final Set<String> FIELDS = Set.of("orderId", "orderedAt", "client", "lines", "total");
+
+    private final ClientModelAssembler clientModelAssembler;
+    private final FieldSelection fields;
+
+    @Autowired
+    public OrderModelAssembler(ClientModelAssembler clientModelAssembler) {
+        this(clientModelAssembler, FieldSelection.ALL);
+    }
+
+    private OrderModelAssembler(ClientModelAssembler clientModelAssembler, FieldSelection fields) {
+        super("/orders", "Orders List");
+        this.clientModelAssembler = clientModelAssembler;
+        this.fields = fields;
+    }
+
+    /**
+     * An assembler rendering only the selected fields. The client and lines are not touched unless
+     * selected, so lazy associations stay unloaded.
+     */
+    public OrderModelAssembler withFields(FieldSelection fields) {
+        return fields.equals(this.fields) ? this : new OrderModelAssembler(clientModelAssembler, fields);
+    }
+
+    /**
+     * Lines are rendered from their own snapshot columns; the products table is not read.
+     */
+    @Override
+    public OrderResponseDto toModel(Order order) {
+        List<OrderLineResponseDto> lines = null;
+        if (fields.includes("lines")) {
+            lines = order.getLines() == null ? List.of() : order.getLines().stream().map(OrderModelAssembler::toLineModel).toList();
+        }
+        var client = fields.includes("client") && order.getClient() != null ? clientModelAssembler.toModel(order.getClient()) : null;
+        return new OrderResponseDto(
+                fields.includes("orderId") ? order.getOrderId() : null,
+                fields.includes("orderedAt") ? order.getOrderedAt() : null,
+                client,
+                lines,
+                fields.includes("total") ? order.getTotal() : null);
+    }
+
+    private static OrderLineResponseDto toLineModel(OrderLine line) {
+        return new OrderLineResponseDto(line.getProductId(), line.getProductName(), line.getQuantity(), line.getUnitPrice(), line.getLineTotal());
+    }
+
+    @Override
+    protected UUID idOf(Order order) {
+        return order.getOrderId();
+    }
+}
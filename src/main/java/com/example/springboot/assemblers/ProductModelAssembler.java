@@ -0,0 +1,25 @@
+package com.example.springboot.assemblers;
+
+import com.example.springboot.dtos.ProductResponseDto;
+import com.example.springboot.models.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class ProductModelAssembler extends LinkedModelAssembler<Product, ProductResponseDto> {
+
+    public ProductModelAssembler() {
+        super("/products", "Products List");
+    }
+
+    @Override
+    public ProductResponseDto toModel(Product product) {
+        return new ProductResponseDto(product.getProductId(), product.getName(), product.getValue());
+    }
+
+    @Override
+    protected UUID idOf(Product product) {
+        return product.getProductId();
+    }
+}
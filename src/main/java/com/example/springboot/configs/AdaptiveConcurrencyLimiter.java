@@ -0,0 +1,63 @@
+package com.example.springboot.configs;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Additive-increase, multiplicative-decrease limit on concurrent work. Every completion reports
+ * whether it saw overload: the limit then drops by a quarter, at most once per
+ * {@code backoffIntervalNanos} so a burst of slow requests counts as one signal; otherwise it grows
+ * by one after a limit's worth of healthy completions. All state is atomic, nothing blocks.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long backoffIntervalNanos;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger healthyCompletions = new AtomicInteger();
+    private final AtomicLong lastBackoff = new AtomicLong();
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long backoffIntervalNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffIntervalNanos = backoffIntervalNanos;
+        this.limit = new AtomicInteger(Math.clamp(initialLimit, minLimit, maxLimit));
+        this.lastBackoff.set(System.nanoTime() - backoffIntervalNanos);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(boolean overloaded, long now) {
+        inFlight.decrementAndGet();
+        if (overloaded) {
+            long last = lastBackoff.get();
+            if (now - last >= backoffIntervalNanos && lastBackoff.compareAndSet(last, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, current * 3 / 4));
+                healthyCompletions.set(0);
+            }
+        } else if (healthyCompletions.incrementAndGet() >= limit.get()) {
+            healthyCompletions.set(0);
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    int getLimit() {
+        return limit.get();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.springboot.configs;
+
+import com.example.springboot.exceptions.InvalidRequestException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Collection;
+
+/**
+ * @param chunkSize    number of records persisted per transaction; keep it a multiple of
+ *                     {@code hibernate.jdbc.batch_size} so every JDBC batch is full
+ * @param maxDeleteIds ids accepted by one bulk delete, which runs as a single transaction
+ */
+@ConfigurationProperties(prefix = "api.bulk")
+public record BulkImportProperties(@DefaultValue("1000") int chunkSize, @DefaultValue("1000") int maxDeleteIds) {
+
+    public void checkDeleteIds(Collection<?> ids) {
+        if (ids.size() > maxDeleteIds) {
+            throw new InvalidRequestException("A bulk delete accepts at most " + maxDeleteIds + " ids, got " + ids.size() + ".");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.springboot.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Scheduling for the change feed's outbox polling and pruning, and the threads serving
+ * event streams. Streams spend nearly all their time waiting, so each gets a virtual thread.
+ */
+@Configuration
+@EnableScheduling
+public class ChangeEventConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService changeEventStreamExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-events-", 0).factory());
+    }
+}
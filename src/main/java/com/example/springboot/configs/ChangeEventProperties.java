@@ -0,0 +1,25 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param bufferSize     most recent events kept in memory; older ones are read back from the outbox table
+ * @param retention      age after which events are deleted from the outbox table
+ * @param pollInterval   how often the outbox is read for events committed by other instances
+ * @param settleDelay    how long a missing sequence holds back the events after it before it is taken to have rolled back
+ * @param maxSubscribers concurrent event streams; further ones get 429
+ * @param streamTimeout  lifetime of one event stream, after which clients reconnect with {@code Last-Event-ID}
+ * @param heartbeat      idle interval after which a stream sends a comment, detecting disconnected clients
+ */
+@ConfigurationProperties(prefix = "api.events")
+public record ChangeEventProperties(@DefaultValue("10000") int bufferSize,
+                                    @DefaultValue("7d") Duration retention,
+                                    @DefaultValue("250ms") Duration pollInterval,
+                                    @DefaultValue("5s") Duration settleDelay,
+                                    @DefaultValue("100") int maxSubscribers,
+                                    @DefaultValue("30m") Duration streamTimeout,
+                                    @DefaultValue("15s") Duration heartbeat) {
+}
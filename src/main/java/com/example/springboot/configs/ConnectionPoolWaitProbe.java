@@ -0,0 +1,32 @@
+package com.example.springboot.configs;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * How long callers have been queueing for a pool connection without the queue draining, sampled
+ * from Hikari's count of threads awaiting a connection. Zero while nobody waits.
+ */
+final class ConnectionPoolWaitProbe {
+
+    private static final long NOT_WAITING = Long.MIN_VALUE;
+
+    private final Supplier<HikariPoolMXBean> pool;
+    private final AtomicLong waitingSince = new AtomicLong(NOT_WAITING);
+
+    ConnectionPoolWaitProbe(Supplier<HikariPoolMXBean> pool) {
+        this.pool = pool;
+    }
+
+    long waitNanos(long now) {
+        var bean = pool.get();
+        if (bean == null || bean.getThreadsAwaitingConnection() == 0) {
+            waitingSince.set(NOT_WAITING);
+            return 0;
+        }
+        waitingSince.compareAndSet(NOT_WAITING, now);
+        return now - waitingSince.get();
+    }
+}
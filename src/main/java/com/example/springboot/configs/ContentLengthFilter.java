@@ -0,0 +1,113 @@
+package com.example.springboot.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Lets the container give small responses a {@code Content-Length}. Tomcat only applies
+ * {@code server.compression.min-response-size} to responses of known length, and knows the length
+ * when the whole body is still in its output buffer as the response completes. Message converters
+ * flush after writing, which commits the response without a length, so those flushes are ignored.
+ * Bodies larger than the buffer are still sent as it fills, so nothing is held in memory beyond it.
+ * Flushes of streamed responses, NDJSON and event streams by their content type, go through.
+ */
+public class ContentLengthFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, new DeferredFlushResponse(response));
+    }
+
+    private static class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        DeferredFlushResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                var target = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return target.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        target.setWriteListener(writeListener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        target.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        target.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        if (isStreamed()) {
+                            target.flush();
+                        }
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        target.close();
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(super.getWriter()) {
+                    @Override
+                    public void flush() {
+                        if (isStreamed()) {
+                            super.flush();
+                        }
+                    }
+                };
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (isStreamed()) {
+                super.flushBuffer();
+            }
+        }
+
+        private boolean isStreamed() {
+            var contentType = getContentType();
+            if (contentType == null) {
+                return false;
+            }
+            var mediaType = MediaType.parseMediaType(contentType);
+            return MediaType.APPLICATION_NDJSON.includes(mediaType) || MediaType.TEXT_EVENT_STREAM.includes(mediaType);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.springboot.configs;
+
+import com.example.springboot.dtos.ClientSnapshot;
+import com.example.springboot.dtos.ProductSnapshot;
+import com.example.springboot.services.EntityCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EntityCacheConfig {
+
+    @Bean
+    public EntityCache<ProductSnapshot> productCache(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        return EntityCache.create("products", properties, meterRegistry);
+    }
+
+    @Bean
+    public EntityCache<ClientSnapshot> clientCache(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        return EntityCache.create("clients", properties, meterRegistry);
+    }
+}
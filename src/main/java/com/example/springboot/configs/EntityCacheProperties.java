@@ -0,0 +1,12 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "api.cache")
+public record EntityCacheProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("10000") long maximumSize,
+                                    @DefaultValue("10m") Duration timeToLive) {
+}
@@ -0,0 +1,29 @@
+package com.example.springboot.configs;
+
+import com.example.springboot.services.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Applies {@code Idempotency-Key} handling to the single-resource create endpoints. It runs after
+ * load shedding, so replays are shed like any request under overload, but before the dispatcher,
+ * so they are not counted by the per-route rate limits.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store, IdempotencyProperties properties,
+                                                                       RateLimitProperties rateLimitProperties,
+                                                                       @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        var filter = new IdempotencyFilter(store, properties, rateLimitProperties.keyHeader(), exceptionResolver);
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/orders", "/products", "/clients");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 4);
+        return registration;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.springboot.configs;
+
+import com.example.springboot.exceptions.IdempotencyKeyReusedException;
+import com.example.springboot.exceptions.InvalidRequestException;
+import com.example.springboot.exceptions.RequestInProgressException;
+import com.example.springboot.services.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes {@code POST} requests carrying an {@code Idempotency-Key} header safe to retry. The first
+ * request with a key runs normally and its successful response is stored; retries with the same key
+ * and body get that response back, marked {@code Idempotent-Replayed: true}, without reaching the
+ * controller. Keys are scoped to the caller, told apart like the rate limits do by the API key header
+ * or else the remote address, so two callers choosing the same key never see each other's response. A retry arriving while the first request still runs waits for it, and gets 409 after
+ * {@code api.idempotency.wait-timeout}. Reusing a key for a different body gets 422. Error
+ * responses are not stored, so a retry after a failure runs again.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final String callerHeader;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, String callerHeader,
+                      HandlerExceptionResolver exceptionResolver) {
+        this.store = store;
+        this.properties = properties;
+        this.callerHeader = callerHeader;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            exceptionResolver.resolveException(request, response, null, new InvalidRequestException(
+                    "The Idempotency-Key header must have between 1 and " + MAX_KEY_LENGTH + " characters."));
+            return;
+        }
+        var body = request.getInputStream().readAllBytes();
+        // the caller is hashed so API keys are not stored, and the key fits its column whatever their length
+        var caller = sha256(RateLimitInterceptor.callerKey(request, callerHeader).getBytes(StandardCharsets.UTF_8));
+        var key = request.getRequestURI() + " " + caller + " " + idempotencyKey;
+        var fingerprint = sha256(body);
+        var deadline = System.nanoTime() + properties.waitTimeout().toNanos();
+        while (true) {
+            switch (store.claim(key, fingerprint)) {
+                case IdempotencyStore.Claim.Claimed claimed -> {
+                    execute(key, new CachedBodyRequest(request, body), response, filterChain);
+                    return;
+                }
+                case IdempotencyStore.Claim.Completed completed -> {
+                    replay(completed.response(), response);
+                    return;
+                }
+                case IdempotencyStore.Claim.Mismatch mismatch -> {
+                    exceptionResolver.resolveException(request, response, null, new IdempotencyKeyReusedException(
+                            "The Idempotency-Key has already been used for a different request."));
+                    return;
+                }
+                case IdempotencyStore.Claim.InFlight inFlight -> {
+                    var completed = await(inFlight, deadline);
+                    if (completed != null) {
+                        replay(completed, response);
+                        return;
+                    }
+                    if (System.nanoTime() - deadline >= 0) {
+                        exceptionResolver.resolveException(request, response, null, new RequestInProgressException(
+                                "A request with this Idempotency-Key is still being processed, retry later."));
+                        return;
+                    }
+                    // the first request failed without a response, so this one may run it instead
+                }
+            }
+        }
+    }
+
+    private void execute(String key, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var wrapper = new ContentCachingResponseWrapper(response);
+        var stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            var status = wrapper.getStatus();
+            if (status >= 200 && status < 300 && !request.isAsyncStarted()
+                    && wrapper.getContentSize() <= properties.maxResponseSize().toBytes()) {
+                store.complete(key, new IdempotencyStore.Response(status, wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getHeader(HttpHeaders.ETAG), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Waits for the running request until {@code deadline}; {@code null} means it ended without a
+     * response, or the deadline passed.
+     */
+    private static IdempotencyStore.Response await(IdempotencyStore.Claim.InFlight inFlight, long deadline) throws ServletException {
+        try {
+            return inFlight.response().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        } catch (ExecutionException e) {
+            throw new ServletException(e.getCause());
+        }
+    }
+
+    private static void replay(IdempotencyStore.Response stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, stored.etag());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Request whose body was read up front, to fingerprint it, and is served again to the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so the listener is told at once that it can
+                 * read it all.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            var encoding = getCharacterEncoding();
+            var charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @param ttl             how long a completed response is replayed for its key
+ * @param maximumKeys     completed responses kept in memory; older ones are read back from the database
+ * @param stripes         locks guarding key state; more stripes mean less contention between unrelated keys
+ * @param waitTimeout     how long a duplicate waits for the first request with the same key before getting 409
+ * @param maxResponseSize largest response body that is stored for replay; larger responses are not deduplicated
+ * @param claimTimeout    how long a running request holds its key for other instances; keep it above the slowest request
+ */
+@ConfigurationProperties(prefix = "api.idempotency")
+public record IdempotencyProperties(@DefaultValue("24h") Duration ttl,
+                                    @DefaultValue("10000") int maximumKeys,
+                                    @DefaultValue("64") int stripes,
+                                    @DefaultValue("10s") Duration waitTimeout,
+                                    @DefaultValue("64KB") DataSize maxResponseSize,
+                                    @DefaultValue("1m") Duration claimTimeout) {
+}
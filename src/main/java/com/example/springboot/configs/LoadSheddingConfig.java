@@ -0,0 +1,51 @@
+package com.example.springboot.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Opt-in adaptive load shedding; the current limit and the requests in flight are published as
+ * {@code load.shedding.limit} and {@code load.shedding.in.flight}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "api.load-shedding", name = "enabled", havingValue = "true")
+public class LoadSheddingConfig {
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(LoadSheddingProperties properties, DataSource dataSource,
+                                                                         @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                                                                         MeterRegistry meterRegistry) {
+        var limiter = new AdaptiveConcurrencyLimiter(properties.initialLimit(), properties.minLimit(), properties.maxLimit(),
+                properties.latencyThreshold().toNanos());
+        Gauge.builder("load.shedding.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Requests currently admitted concurrently")
+                .register(meterRegistry);
+        Gauge.builder("load.shedding.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        var hikari = unwrapHikari(dataSource);
+        var poolWaitProbe = new ConnectionPoolWaitProbe(() -> hikari == null ? null : hikari.getHikariPoolMXBean());
+        var registration = new FilterRegistrationBean<>(
+                new LoadSheddingFilter(limiter, poolWaitProbe, properties, exceptionResolver, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.springboot.configs;
+
+import com.example.springboot.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Admits a request only while the {@link AdaptiveConcurrencyLimiter} has room and reports its
+ * latency and the pool wait back to it. Refused requests are answered by the regular exception
+ * handlers, so the 503 body looks like every other error. Actuator requests are never shed.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ConnectionPoolWaitProbe poolWaitProbe;
+    private final LoadSheddingProperties properties;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Counter rejectedCounter;
+
+    LoadSheddingFilter(AdaptiveConcurrencyLimiter limiter, ConnectionPoolWaitProbe poolWaitProbe, LoadSheddingProperties properties,
+                       HandlerExceptionResolver exceptionResolver, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.poolWaitProbe = poolWaitProbe;
+        this.properties = properties;
+        this.exceptionResolver = exceptionResolver;
+        this.rejectedCounter = Counter.builder("load.shedding.rejected")
+                .description("Requests refused with 503 because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            rejectedCounter.increment();
+            exceptionResolver.resolveException(request, response, null,
+                    new ServiceUnavailableException("The server is overloaded, retry later.", properties.retryAfter()));
+            return;
+        }
+        var start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            var now = System.nanoTime();
+            var overloaded = now - start > properties.latencyThreshold().toNanos()
+                    || poolWaitProbe.waitNanos(now) > properties.poolWaitThreshold().toNanos();
+            limiter.release(overloaded, now);
+        }
+    }
+}
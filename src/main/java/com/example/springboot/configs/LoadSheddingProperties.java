@@ -0,0 +1,23 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Adaptive cap on requests in flight. The cap shrinks when requests get slower than
+ * {@code latencyThreshold} or callers have been queueing for a pool connection for longer than
+ * {@code poolWaitThreshold}, and grows back while neither happens. Requests over the cap get 503.
+ *
+ * @param retryAfter value of the {@code Retry-After} header sent with 503
+ */
+@ConfigurationProperties(prefix = "api.load-shedding")
+public record LoadSheddingProperties(@DefaultValue("false") boolean enabled,
+                                     @DefaultValue("100") int initialLimit,
+                                     @DefaultValue("10") int minLimit,
+                                     @DefaultValue("1000") int maxLimit,
+                                     @DefaultValue("500ms") Duration latencyThreshold,
+                                     @DefaultValue("100ms") Duration poolWaitThreshold,
+                                     @DefaultValue("1s") Duration retryAfter) {
+}
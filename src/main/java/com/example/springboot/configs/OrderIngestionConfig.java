@@ -0,0 +1,35 @@
+package com.example.springboot.configs;
+
+import com.example.springboot.services.ChangeEventService;
+import com.example.springboot.services.ClientService;
+import com.example.springboot.services.OrderIngestionLog;
+import com.example.springboot.services.OrderIngestionService;
+import com.example.springboot.services.OrderService;
+import com.example.springboot.services.OrderSummaryService;
+import com.example.springboot.services.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@ConditionalOnProperty(prefix = "api.orders.ingestion", name = "enabled", havingValue = "true")
+public class OrderIngestionConfig {
+
+    @Bean
+    public OrderIngestionLog orderIngestionLog(OrderIngestionProperties properties, ObjectMapper objectMapper) {
+        return new OrderIngestionLog(properties.logDirectory(), objectMapper, properties.logCompactionSize().toBytes());
+    }
+
+    @Bean
+    public OrderIngestionService orderIngestionService(OrderService orderService, ClientService clientService, ProductService productService,
+                                                       OrderSummaryService orderSummaryService, ChangeEventService changeEventService, EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                                       OrderIngestionLog orderIngestionLog, OrderIngestionProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        return new OrderIngestionService(orderService, clientService, productService, orderSummaryService, changeEventService, entityManager, transactionManager,
+                orderIngestionLog, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled           accept {@code POST /orders} with 202 and persist orders in the background
+ * @param queueCapacity     orders accepted but not yet written; beyond it requests are rejected with 429
+ * @param batchSize         orders written per transaction; keep it a multiple of {@code hibernate.jdbc.batch_size}
+ * @param batchDelay        how long the writer waits for a batch to fill once the first order has arrived
+ * @param maxAttempts       tries after which an order failing for an unknown reason is marked failed; orders
+ *                          failing because the database is unreachable are retried until it is back
+ * @param logDirectory      where accepted orders are logged before the 202 is sent, replayed on startup
+ * @param logCompactionSize size beyond which the log is rewritten with only the orders still to be written
+ */
+@ConfigurationProperties(prefix = "api.orders.ingestion")
+public record OrderIngestionProperties(@DefaultValue("false") boolean enabled,
+                                       @DefaultValue("10000") int queueCapacity,
+                                       @DefaultValue("500") int batchSize,
+                                       @DefaultValue("20ms") Duration batchDelay,
+                                       @DefaultValue("5") int maxAttempts,
+                                       @DefaultValue("data/order-ingestion") Path logDirectory,
+                                       @DefaultValue("16MB") DataSize logCompactionSize) {
+}
@@ -0,0 +1,15 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "api.pagination")
+public record PaginationProperties(@DefaultValue("50") int defaultSize, @DefaultValue("500") int maxSize) {
+
+    public int resolveSize(Integer requestedSize) {
+        if (requestedSize == null || requestedSize < 1) {
+            return defaultSize;
+        }
+        return Math.min(requestedSize, maxSize);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.springboot.configs;
+
+import com.example.springboot.exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+/**
+ * Takes a token from the caller's bucket for the matched route before the controller runs, and
+ * answers 429 with {@code Retry-After} once the bucket is empty. Buckets live per route and key,
+ * so one caller looping on {@code GET /orders} neither affects other callers nor its own use of
+ * other routes.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder().maximumSize(properties.maximumKeys()).build();
+        Gauge.builder("rate.limit.keys", buckets, Cache::estimatedSize)
+                .description("Callers with a token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        var route = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        var now = System.nanoTime();
+        var bucket = buckets.get(route + ' ' + callerKey(request, properties.keyHeader()), key -> new TokenBucket(properties.limitFor(route), now));
+        var waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            Counter.builder("rate.limit.rejected")
+                    .description("Requests refused because the caller's bucket was empty")
+                    .tag("uri", route)
+                    .register(meterRegistry)
+                    .increment();
+            throw new TooManyRequestsException("Rate limit exceeded for " + route + ", retry later.", Duration.ofNanos(waitNanos));
+        }
+        response.setHeader(REMAINING_HEADER, String.valueOf(bucket.availableTokens(now)));
+        return true;
+    }
+
+    /**
+     * The caller's {@code keyHeader} value, or its remote address when the header is missing.
+     */
+    static String callerKey(HttpServletRequest request, String keyHeader) {
+        var key = request.getHeader(keyHeader);
+        return key == null || key.isBlank() ? request.getRemoteAddr() : key;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Per-caller token buckets in front of the controllers. A caller is identified by the
+ * {@code keyHeader} value, or by its remote address when the header is missing.
+ *
+ * @param maximumKeys  buckets kept at most; idle ones are dropped first
+ * @param defaultLimit limit of every route without an entry in {@code routes}
+ * @param routes       limits keyed by URI template, e.g. {@code api.rate-limit.routes[/orders].capacity}
+ */
+@ConfigurationProperties(prefix = "api.rate-limit")
+public record RateLimitProperties(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("X-API-Key") String keyHeader,
+                                  @DefaultValue("100000") long maximumKeys,
+                                  @DefaultValue Limit defaultLimit,
+                                  Map<String, Limit> routes) {
+
+    public RateLimitProperties {
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+    }
+
+    public Limit limitFor(String route) {
+        return routes.getOrDefault(route, defaultLimit);
+    }
+
+    /**
+     * @param capacity        requests a caller may burst
+     * @param refillPerSecond sustained requests per second
+     */
+    public record Limit(@DefaultValue("50") int capacity, @DefaultValue("20") double refillPerSecond) {
+    }
+}
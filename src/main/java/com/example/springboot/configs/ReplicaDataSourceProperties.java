@@ -0,0 +1,17 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Read replica used by read-only transactions. Routing is off while {@code url} is unset. Pool
+ * settings go under {@code api.datasource.replica.hikari.*}.
+ *
+ * @param readYourWritesWindow how long a client's reads stay on the primary after it writes, to hide replication lag
+ */
+@ConfigurationProperties(prefix = "api.datasource.replica")
+public record ReplicaDataSourceProperties(String url, String username, String password,
+                                          @DefaultValue("5s") Duration readYourWritesWindow) {
+}
@@ -0,0 +1,17 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param defaultWindow window ending now used when a report request gives no {@code from}
+ * @param summaryTable  maintain {@code daily_order_summary} on every order write and serve the daily
+ *                      report from it. Filled from the orders on startup when empty; truncate it
+ *                      before re-enabling after a period without it.
+ */
+@ConfigurationProperties(prefix = "api.reports")
+public record ReportProperties(@DefaultValue("30d") Duration defaultWindow,
+                               @DefaultValue("false") boolean summaryTable) {
+}
@@ -0,0 +1,35 @@
+package com.example.springboot.configs;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Response formats and compression. Compression itself is done by the servlet container
+ * ({@code server.compression.*}).
+ */
+@Configuration
+public class ResponseEncodingConfig {
+
+    /**
+     * Serves every response also as CBOR ({@code Accept: application/cbor}). The mapper comes from
+     * the application's builder, so it carries the same modules and settings as the JSON one.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "server.compression", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<ContentLengthFilter> contentLengthFilter() {
+        var registration = new FilterRegistrationBean<>(new ContentLengthFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
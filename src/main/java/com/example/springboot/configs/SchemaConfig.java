@@ -0,0 +1,17 @@
+package com.example.springboot.configs;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SchemaConfig {
+
+    @Bean
+    public SchemaIndexValidator schemaIndexValidator(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+                                                     SchemaProperties properties) {
+        return new SchemaIndexValidator(dataSource, entityManagerFactory, properties);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.springboot.configs;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checks at startup, once migrations have run, that the database has every index declared in an
+ * entity's {@code @Table(indexes = ...)} and an index leading with the columns of every foreign
+ * key. PostgreSQL does not index foreign keys by itself, and without such an index, deleting or
+ * checking a referenced row scans the referencing table. Depending on
+ * {@code api.schema.index-validation}, missing indexes stop the application or are logged.
+ */
+public class SchemaIndexValidator implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexValidator.class);
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SchemaProperties properties;
+
+    SchemaIndexValidator(DataSource dataSource, EntityManagerFactory entityManagerFactory, SchemaProperties properties) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (properties.indexValidation() == SchemaProperties.IndexValidation.NONE) {
+            return;
+        }
+        var entityTypes = entityManagerFactory.getMetamodel().getEntities().stream().<Class<?>>map(Type::getJavaType).toList();
+        List<String> problems;
+        try {
+            problems = findMissingIndexes(entityTypes);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the database indexes", e);
+        }
+        if (problems.isEmpty()) {
+            return;
+        }
+        if (properties.indexValidation() == SchemaProperties.IndexValidation.FAIL) {
+            throw new IllegalStateException("The database schema is missing indexes: " + String.join("; ", problems)
+                    + ". Apply the pending migrations, or set api.schema.index-validation=warn to start anyway.");
+        }
+        problems.forEach(problem -> log.warn("Missing index: {}", problem));
+    }
+
+    /**
+     * @return one description per missing index, empty when the schema is complete
+     */
+    List<String> findMissingIndexes(Collection<Class<?>> entityTypes) throws SQLException {
+        var problems = new ArrayList<String>();
+        try (var connection = dataSource.getConnection()) {
+            var metadata = connection.getMetaData();
+            for (var entityType : entityTypes) {
+                var table = entityType.getAnnotation(Table.class);
+                if (table == null || table.name().isEmpty()) {
+                    continue;
+                }
+                var tableName = identifier(metadata, table.name());
+                var indexes = readIndexes(metadata, connection.getCatalog(), connection.getSchema(), tableName);
+                for (var index : table.indexes()) {
+                    var columns = Arrays.stream(index.columnList().split(",")).map(column -> columnName(column.trim())).toList();
+                    var present = indexes.entrySet().stream()
+                            .anyMatch(entry -> entry.getKey().equals(index.name().toLowerCase(Locale.ROOT)) || entry.getValue().equals(columns));
+                    if (!present) {
+                        problems.add(table.name() + "." + index.name() + " " + columns);
+                    }
+                }
+                for (var foreignKey : readForeignKeys(metadata, connection.getCatalog(), connection.getSchema(), tableName).values()) {
+                    var covered = indexes.values().stream()
+                            .anyMatch(columns -> columns.size() >= foreignKey.size() && columns.subList(0, foreignKey.size()).equals(foreignKey));
+                    if (!covered) {
+                        problems.add(table.name() + " foreign key " + foreignKey);
+                    }
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static Map<String, List<String>> readIndexes(DatabaseMetaData metadata, String catalog, String schema, String table)
+            throws SQLException {
+        var indexes = new TreeMap<String, List<String>>();
+        try (var rows = metadata.getIndexInfo(catalog, schema, table, false, false)) {
+            while (rows.next()) {
+                var name = rows.getString("INDEX_NAME");
+                var column = rows.getString("COLUMN_NAME");
+                if (name != null && column != null) {
+                    var columns = indexes.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new ArrayList<>());
+                    setAt(columns, rows.getShort("ORDINAL_POSITION") - 1, column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static Map<String, List<String>> readForeignKeys(DatabaseMetaData metadata, String catalog, String schema, String table)
+            throws SQLException {
+        var foreignKeys = new TreeMap<String, List<String>>();
+        try (var rows = metadata.getImportedKeys(catalog, schema, table)) {
+            while (rows.next()) {
+                var columns = foreignKeys.computeIfAbsent(rows.getString("FK_NAME"), key -> new ArrayList<>());
+                setAt(columns, rows.getShort("KEY_SEQ") - 1, rows.getString("FKCOLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return foreignKeys;
+    }
+
+    private static void setAt(List<String> columns, int position, String column) {
+        while (columns.size() <= position) {
+            columns.add(null);
+        }
+        columns.set(position, column);
+    }
+
+    private static String identifier(DatabaseMetaData metadata, String name) throws SQLException {
+        if (metadata.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        return metadata.storesLowerCaseIdentifiers() ? name.toLowerCase(Locale.ROOT) : name;
+    }
+
+    /**
+     * Column name of an index column list entry, which may name the attribute: {@code orderedAt}
+     * becomes {@code ordered_at}, as with Spring's default physical naming strategy.
+     */
+    private static String columnName(String column) {
+        return column.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param indexValidation what to do at startup when an index declared on an entity, or one covering
+ *                        a foreign key, is missing from the database
+ */
+@ConfigurationProperties(prefix = "api.schema")
+public record SchemaProperties(@DefaultValue("fail") IndexValidation indexValidation) {
+
+    public enum IndexValidation {
+        NONE, WARN, FAIL
+    }
+}
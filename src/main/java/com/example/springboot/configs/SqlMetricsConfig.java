@@ -0,0 +1,42 @@
+package com.example.springboot.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Statement-level diagnostics. Request and repository timers ({@code http.server.requests},
+ * {@code spring.data.repository.invocations}) and the Hikari pool meters come from Spring Boot.
+ */
+@Configuration
+public class SqlMetricsConfig {
+
+    @Bean
+    public SqlStatementInspector sqlStatementInspector(SqlMetricsProperties properties) {
+        return new SqlStatementInspector(properties.sampleRate());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlMetricsHibernateCustomizer(SqlStatementInspector inspector, SqlMetricsProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+            hibernateProperties.put(AvailableSettings.LOG_SLOW_QUERY, properties.slowQueryThreshold().toMillis());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(SqlStatementInspector inspector, MeterRegistry meterRegistry) {
+        var registration = new FilterRegistrationBean<>(new SqlStatementMetricsFilter(inspector, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public SqlMetricsEndpoint sqlMetricsEndpoint(MeterRegistry meterRegistry, SqlMetricsProperties properties) {
+        return new SqlMetricsEndpoint(meterRegistry, properties);
+    }
+}
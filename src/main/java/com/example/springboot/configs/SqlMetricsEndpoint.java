@@ -0,0 +1,94 @@
+package com.example.springboot.configs;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/sql}: one view over the statement counts per endpoint, the repository method
+ * timers and the connection pools, worst offenders first.
+ */
+@Endpoint(id = "sql")
+public class SqlMetricsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlMetricsProperties properties;
+
+    public SqlMetricsEndpoint(MeterRegistry meterRegistry, SqlMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public SqlMetricsReport report() {
+        var requests = meterRegistry.find(SqlStatementMetricsFilter.METRIC_NAME).summaries().stream()
+                .map(RequestStatements::of)
+                .sorted(Comparator.comparingDouble(RequestStatements::totalStatements).reversed())
+                .toList();
+        var repositories = meterRegistry.find("spring.data.repository.invocations").timers().stream()
+                .map(RepositoryInvocations::of)
+                .sorted(Comparator.comparingDouble(RepositoryInvocations::totalMillis).reversed())
+                .toList();
+        var pools = meterRegistry.find("hikaricp.connections.active").gauges().stream()
+                .map(gauge -> gauge.getId().getTag("pool"))
+                .map(this::pool)
+                .toList();
+        return new SqlMetricsReport(properties.slowQueryThreshold(), properties.sampleRate(), requests, repositories, pools);
+    }
+
+    private ConnectionPool pool(String name) {
+        var acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", name).timer();
+        var usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", name).timer();
+        return new ConnectionPool(name,
+                gauge("hikaricp.connections.active", name),
+                gauge("hikaricp.connections.idle", name),
+                gauge("hikaricp.connections.pending", name),
+                gauge("hikaricp.connections.max", name),
+                acquire == null ? 0 : acquire.mean(TimeUnit.MILLISECONDS),
+                acquire == null ? 0 : acquire.max(TimeUnit.MILLISECONDS),
+                usage == null ? 0 : usage.mean(TimeUnit.MILLISECONDS),
+                usage == null ? 0 : usage.max(TimeUnit.MILLISECONDS));
+    }
+
+    private int gauge(String name, String pool) {
+        Gauge gauge = meterRegistry.find(name).tag("pool", pool).gauge();
+        return gauge == null ? 0 : (int) gauge.value();
+    }
+
+    public record SqlMetricsReport(Duration slowQueryThreshold, double sampleRate, List<RequestStatements> requests,
+                                   List<RepositoryInvocations> repositories, List<ConnectionPool> pools) {
+    }
+
+    public record RequestStatements(String method, String uri, long requests, double totalStatements,
+                                    double meanStatements, double maxStatements) {
+
+        static RequestStatements of(DistributionSummary summary) {
+            var id = summary.getId();
+            return new RequestStatements(id.getTag("method"), id.getTag("uri"), summary.count(),
+                    summary.totalAmount(), summary.mean(), summary.max());
+        }
+    }
+
+    public record RepositoryInvocations(String repository, String method, String state, long invocations,
+                                        double totalMillis, double meanMillis, double maxMillis) {
+
+        static RepositoryInvocations of(Timer timer) {
+            var id = timer.getId();
+            return new RepositoryInvocations(id.getTag("repository"), id.getTag("method"), id.getTag("state"), timer.count(),
+                    timer.totalTime(TimeUnit.MILLISECONDS), timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    public record ConnectionPool(String name, int active, int idle, int pending, int max,
+                                 double acquireMeanMillis, double acquireMaxMillis,
+                                 double usageMeanMillis, double usageMaxMillis) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param slowQueryThreshold statements running longer than this are logged by Hibernate to {@code org.hibernate.SQL_SLOW}
+ * @param sampleRate         fraction of all statements, between 0 and 1, logged at DEBUG in place of {@code show-sql}
+ */
+@ConfigurationProperties(prefix = "api.sql")
+public record SqlMetricsProperties(@DefaultValue("200ms") Duration slowQueryThreshold,
+                                   @DefaultValue("0") double sampleRate) {
+}
@@ -0,0 +1,49 @@
+package com.example.springboot.configs;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sees every SQL statement Hibernate prepares. It counts them for the request running on the current
+ * thread and logs a random sample, which replaces {@code spring.jpa.show-sql}. Statements run outside
+ * a {@link #begin()}/{@link #end()} scope, such as startup or async work, are not counted.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementInspector.class);
+
+    private final ThreadLocal<int[]> statementCount = new ThreadLocal<>();
+    private final double sampleRate;
+
+    public SqlStatementInspector(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        var count = statementCount.get();
+        if (count != null) {
+            count[0]++;
+        }
+        if (sampleRate > 0 && log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.debug(sql);
+        }
+        return sql;
+    }
+
+    public void begin() {
+        statementCount.set(new int[1]);
+    }
+
+    /**
+     * Closes the scope opened by {@link #begin()} and returns the statements prepared within it.
+     */
+    public int end() {
+        var count = statementCount.get();
+        statementCount.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.springboot.configs;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count it keeps the time at which the bucket will be
+ * full again; taking a token pushes that time one refill interval further, and a request is
+ * refused when the time would lie more than a full bucket ahead of now. One compare-and-set per
+ * request, no timer refilling the bucket.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(RateLimitProperties.Limit limit, long now) {
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / limit.refillPerSecond()));
+        this.burstNanos = nanosPerToken * limit.capacity();
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now < 0 ? now : current) + nanosPerToken;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    long availableTokens(long now) {
+        long ahead = fullAt.get() - now;
+        return ahead <= 0 ? burstNanos / nanosPerToken : (burstNanos - ahead) / nanosPerToken;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.springboot.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Active with {@code spring.threads.virtual.enabled=true}, which makes Spring Boot run Tomcat
+ * requests and the application task executor (async MVC, {@code @Async}) on virtual threads.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final int DEFAULT_CONNECTION_PERMITS = 10; // HikariCP's default maximum-pool-size
+
+    @Bean
+    public static BeanPostProcessor connectionPermitPostProcessor(ObjectProvider<VirtualThreadProperties> properties,
+                                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // the routing proxy hands out connections of the pools, which are guarded themselves
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionPermitDataSource
+                        || bean instanceof LazyConnectionDataSourceProxy) {
+                    return bean;
+                }
+                var virtualThreadProperties = properties.getObject();
+                var permits = virtualThreadProperties.connectionPermits() != null
+                        ? virtualThreadProperties.connectionPermits()
+                        : poolSize(dataSource);
+                var guarded = new ConnectionPermitDataSource(dataSource, permits, virtualThreadProperties.connectionWaitTimeout());
+                meterRegistry.ifAvailable(registry -> Gauge.builder("datasource.connection.permits.available", guarded,
+                                ConnectionPermitDataSource::getAvailablePermits)
+                        .tag("name", beanName)
+                        .register(registry));
+                return guarded;
+            }
+        };
+    }
+
+    /**
+     * Hikari only applies its default pool size when the pool starts, so an unset size reads as -1 here.
+     */
+    private static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            return hikari.getMaximumPoolSize();
+        }
+        return DEFAULT_CONNECTION_PERMITS;
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(VirtualThreadProperties properties, MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(properties.pinningThreshold(), meterRegistry);
+    }
+}
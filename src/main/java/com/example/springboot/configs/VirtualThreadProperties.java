@@ -0,0 +1,19 @@
+package com.example.springboot.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings applied only when {@code spring.threads.virtual.enabled=true}.
+ *
+ * @param pinningThreshold      report virtual threads pinned to their carrier for longer than this
+ * @param connectionPermits     maximum connections handed out concurrently; defaults to the pool's maximum size
+ * @param connectionWaitTimeout how long a request waits for a connection permit before failing
+ */
+@ConfigurationProperties(prefix = "api.virtual-threads")
+public record VirtualThreadProperties(@DefaultValue("20ms") Duration pinningThreshold,
+                                      Integer connectionPermits,
+                                      @DefaultValue("5s") Duration connectionWaitTimeout) {
+}
@@ -0,0 +1,110 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.configs.PaginationProperties;
+import com.example.springboot.dtos.ChangeEventDto;
+import com.example.springboot.dtos.ChangeEventPageDto;
+import com.example.springboot.services.ChangeEventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Order and product changes, for consumers that would otherwise poll the list endpoints. Clients
+ * either page with {@code ?since=<sequence>} or hold an event stream, which resumes from
+ * {@code Last-Event-ID} after a reconnect.
+ */
+@RestController
+public class ChangeEventController {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventController.class);
+
+    private final ChangeEventService changeEventService;
+    private final PaginationProperties paginationProperties;
+    private final ExecutorService streamExecutor;
+
+    public ChangeEventController(ChangeEventService changeEventService, PaginationProperties paginationProperties,
+                                 @Qualifier("changeEventStreamExecutor") ExecutorService streamExecutor) {
+        this.changeEventService = changeEventService;
+        this.paginationProperties = paginationProperties;
+        this.streamExecutor = streamExecutor;
+    }
+
+    @GetMapping("/events")
+    public ResponseEntity<ChangeEventPageDto> getEvents(@RequestParam(value = "since", defaultValue = "0") long since,
+                                                        @RequestParam(value = "size", required = false) Integer size) {
+        var events = changeEventService.getEventsAfter(since, paginationProperties.resolveSize(size));
+        return ResponseEntity.status(HttpStatus.OK).body(ChangeEventPageDto.of(events, since));
+    }
+
+    /**
+     * Without {@code since} or {@code Last-Event-ID} the stream starts with the next change. The
+     * stream never times out on the servlet side; it ends after {@code api.events.stream-timeout}.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(value = "since", required = false) Long since,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        var start = lastEventId != null ? lastEventId : since != null ? since : changeEventService.getLastSequence();
+        var emitter = new SseEmitter(0L);
+        var subscriber = new EmitterSubscriber(emitter);
+        var stream = changeEventService.subscribe(start, subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        streamExecutor.execute(() -> {
+            try {
+                stream.run();
+                emitter.complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change event stream closed: {}", e.getMessage());
+                emitter.completeWithError(e);
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private static final class EmitterSubscriber implements ChangeEventService.Subscriber {
+        private final SseEmitter emitter;
+        private volatile boolean open = true;
+
+        private EmitterSubscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void close() {
+            open = false;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void send(ChangeEventDto event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.sequence()))
+                    .name(event.resource().name().toLowerCase())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment(""));
+        }
+    }
+}
@@ -1,59 +1,77 @@
 package com.example.springboot.controllers;
 
+import com.example.springboot.assemblers.ClientModelAssembler;
+import com.example.springboot.configs.BulkImportProperties;
+import com.example.springboot.configs.PaginationProperties;
+import com.example.springboot.dtos.BulkDeleteResultDto;
+import com.example.springboot.dtos.BulkResultDto;
 import com.example.springboot.dtos.ClientRecordDto;
-import com.example.springboot.models.Client;
+import com.example.springboot.dtos.ClientResponseDto;
+import com.example.springboot.services.BulkImporter;
 import com.example.springboot.services.ClientService;
 import jakarta.validation.Valid;
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 public class ClientController {
 
     private final ClientService clientService;
+    private final PaginationProperties paginationProperties;
+    private final ClientModelAssembler clientModelAssembler;
+    private final BulkImporter bulkImporter;
+    private final BulkImportProperties bulkImportProperties;
 
-    public ClientController(ClientService clientService) {
+    public ClientController(ClientService clientService, PaginationProperties paginationProperties, ClientModelAssembler clientModelAssembler, BulkImporter bulkImporter,
+                            BulkImportProperties bulkImportProperties) {
         this.clientService = clientService;
+        this.paginationProperties = paginationProperties;
+        this.clientModelAssembler = clientModelAssembler;
+        this.bulkImporter = bulkImporter;
+        this.bulkImportProperties = bulkImportProperties;
     }
 
     @PostMapping("/clients")
-    public ResponseEntity<Client> saveClient(@RequestBody @Valid ClientRecordDto clientRecordDto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(clientService.save(clientRecordDto));
+    public ResponseEntity<ClientResponseDto> saveClient(@RequestBody @Valid ClientRecordDto clientRecordDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(clientModelAssembler.toModel(clientService.save(clientRecordDto)));
+    }
+
+    @PostMapping(value = "/clients/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResultDto> saveClients(InputStream body) throws IOException {
+        var clientRecordDtos = bulkImporter.readRecords(body, ClientRecordDto.class);
+        return ResponseEntity.status(HttpStatus.OK).body(clientService.saveAll(clientRecordDtos));
     }
 
     @GetMapping("/clients")
-    public List<Client> getAllClients() {
-        List<Client> clientList = clientService.getAllClients();
-        if (!clientList.isEmpty()) {
-            for (Client client : clientList) {
-                UUID clientId = client.getClientId();
-                client.add(linkTo(methodOn(ClientController.class).getOneClient(clientId)).withSelfRel());
-            }
-        }
-        return clientList;
+    public ResponseEntity<CollectionModel<ClientResponseDto>> getAllClients(@RequestParam(value = "after", required = false) UUID after,
+                                                                            @RequestParam(value = "before", required = false) UUID before,
+                                                                            @RequestParam(value = "size", required = false) Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        var page = clientService.getClientsPage(after, before, pageSize);
+        return ResponseEntity.status(HttpStatus.OK).body(clientModelAssembler.toCollectionModel(page, after, before, pageSize));
     }
 
     @GetMapping("/clients/{id}")
     public ResponseEntity<Object> getOneClient(@PathVariable(value = "id") UUID id) {
         var client = clientService.getClientById(id);
-        client.add(linkTo(methodOn(ClientController.class).getAllClients()).withRel("Clients List"));
-        return ResponseEntity.status(HttpStatus.OK).body(client);
+        return ResponseEntity.status(HttpStatus.OK).eTag(String.valueOf(client.getVersion())).body(clientModelAssembler.toDetailModel(client));
     }
 
     @PutMapping("/clients/{id}")
     public ResponseEntity<Object> updateOneClient(@PathVariable(value = "id") UUID id,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                            @RequestBody @Valid ClientRecordDto clientRecordDto) {
-        return ResponseEntity.status(HttpStatus.OK).body(clientService.updateClient(id, clientRecordDto));
+        var client = clientService.updateClient(id, clientRecordDto, ETags.ifMatch(ifMatch));
+        return ResponseEntity.status(HttpStatus.OK).eTag(String.valueOf(client.getVersion())).body(clientModelAssembler.toModel(client));
     }
 
     @DeleteMapping("/clients/{id}")
@@ -61,4 +79,10 @@ public class ClientController {
         clientService.deleteClient(id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    @PostMapping("/clients/bulk-delete")
+    public ResponseEntity<BulkDeleteResultDto> deleteClients(@RequestBody List<UUID> ids) {
+        bulkImportProperties.checkDeleteIds(ids);
+        return ResponseEntity.status(HttpStatus.OK).body(clientService.deleteClients(ids));
+    }
 }
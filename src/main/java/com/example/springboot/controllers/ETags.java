@@ -0,0 +1,27 @@
+package com.example.springboot.controllers;
+
+import org.springframework.http.ETag;
+
+import java.util.List;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * The tags listed in an {@code If-Match} header, or {@code null} when the request is
+     * unconditional (no header, or {@code *}). Weak tags are compared by value: every tag is a
+     * version, and Tomcat marks the tags of compressed responses weak.
+     */
+    static List<String> ifMatch(String header) {
+        if (header == null) {
+            return null;
+        }
+        var tags = ETag.parse(header);
+        if (tags.stream().anyMatch(ETag::isWildcard)) {
+            return null;
+        }
+        return tags.stream().map(ETag::tag).toList();
+    }
+}
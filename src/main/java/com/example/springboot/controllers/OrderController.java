@@ -1,57 +1,139 @@
 package com.example.springboot.controllers;
 
+import com.example.springboot.assemblers.OrderModelAssembler;
+import com.example.springboot.configs.BulkImportProperties;
+import com.example.springboot.configs.PaginationProperties;
+import com.example.springboot.dtos.BulkDeleteResultDto;
+import com.example.springboot.dtos.FieldSelection;
+import com.example.springboot.dtos.OrderFilter;
 import com.example.springboot.dtos.OrderRecordDto;
-import com.example.springboot.models.Order;
+import com.example.springboot.dtos.OrderResponseDto;
+import com.example.springboot.dtos.OrderStatusDto;
+import com.example.springboot.dtos.OrderVersion;
+import com.example.springboot.services.OrderIngestionService;
 import com.example.springboot.services.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 public class OrderController {
 
     private final OrderService orderService;
+    private final PaginationProperties paginationProperties;
+    private final OrderModelAssembler orderModelAssembler;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<OrderIngestionService> orderIngestionService;
+    private final BulkImportProperties bulkImportProperties;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, PaginationProperties paginationProperties, OrderModelAssembler orderModelAssembler,
+                           ObjectMapper objectMapper, ObjectProvider<OrderIngestionService> orderIngestionService,
+                           BulkImportProperties bulkImportProperties) {
         this.orderService = orderService;
+        this.paginationProperties = paginationProperties;
+        this.orderModelAssembler = orderModelAssembler;
+        this.objectMapper = objectMapper;
+        this.orderIngestionService = orderIngestionService;
+        this.bulkImportProperties = bulkImportProperties;
     }
 
+    /**
+     * With {@code api.orders.ingestion.enabled} the order is queued and answered with 202 and the
+     * location of its status; otherwise it is created before responding.
+     */
     @PostMapping("/orders")
     public ResponseEntity<Object> saveOrder(@RequestBody @Valid OrderRecordDto orderRecordDto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(orderService.save(orderRecordDto));
+        var orderIngestionService = this.orderIngestionService.getIfAvailable();
+        if (orderIngestionService != null) {
+            var status = orderIngestionService.submit(orderRecordDto);
+            var statusUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/orders/{id}/status").buildAndExpand(status.orderId()).toUri();
+            return ResponseEntity.accepted().location(statusUri).body(status);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(orderModelAssembler.toModel(orderService.save(orderRecordDto)));
+    }
+
+    @GetMapping("/orders/{id}/status")
+    public ResponseEntity<OrderStatusDto> getOrderStatus(@PathVariable(value="id") UUID id) {
+        var orderIngestionService = this.orderIngestionService.getIfAvailable();
+        var status = orderIngestionService != null ? orderIngestionService.getStatus(id) : orderService.getOrderStatus(id);
+        return ResponseEntity.status(HttpStatus.OK).body(status);
     }
 
     @GetMapping("/orders")
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orderList = orderService.getAllOrders();
-        if (!orderList.isEmpty()) {
-            for (Order order : orderList) {
-                UUID id = order.getOrderId();
-                order.add(linkTo(methodOn(OrderController.class).getOneOrder(id)).withSelfRel());
+    public ResponseEntity<CollectionModel<OrderResponseDto>> getAllOrders(@RequestParam(value = "after", required = false) UUID after,
+                                                                          @RequestParam(value = "before", required = false) UUID before,
+                                                                          @RequestParam(value = "size", required = false) Integer size,
+                                                                          @RequestParam(value = "fields", required = false) String fields) {
+        int pageSize = paginationProperties.resolveSize(size);
+        var selection = FieldSelection.parse(fields, OrderModelAssembler.FIELDS);
+        var page = orderService.getOrdersPage(after, before, pageSize, selection.includes("client"));
+        return ResponseEntity.status(HttpStatus.OK).body(orderModelAssembler.withFields(selection).toCollectionModel(page, after, before, pageSize));
+    }
+
+    @GetMapping("/orders/search")
+    public ResponseEntity<CollectionModel<OrderResponseDto>> searchOrders(@RequestParam(value = "clientId", required = false) UUID clientId,
+                                                                          @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                          @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                          @RequestParam(value = "sort", required = false) String sort,
+                                                                          @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                          @RequestParam(value = "size", required = false) Integer size,
+                                                                          @RequestParam(value = "fields", required = false) String fields) {
+        var filter = new OrderFilter(clientId, from, to);
+        var selection = FieldSelection.parse(fields, OrderModelAssembler.FIELDS);
+        var window = orderService.searchOrders(filter, sort, Math.max(page, 0), paginationProperties.resolveSize(size), selection.includes("client"));
+        return ResponseEntity.status(HttpStatus.OK).body(orderModelAssembler.withFields(selection).toSearchModel(window, Math.max(page, 0)));
+    }
+
+    @GetMapping(value = "/orders", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        StreamingResponseBody body = outputStream -> {
+            try (var writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                orderService.streamAllOrders(order -> {
+                    try {
+                        writer.write(orderModelAssembler.toModel(order));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
             }
-        }
-        return ResponseEntity.status(HttpStatus.OK).body(orderList);
+        };
+        return ResponseEntity.status(HttpStatus.OK).body(body);
     }
 
     @GetMapping("/orders/{id}")
-    public ResponseEntity<Object> getOneOrder(@PathVariable(value="id") UUID id) {
+    public ResponseEntity<Object> getOneOrder(@PathVariable(value="id") UUID id, WebRequest request,
+                                              @RequestParam(value = "fields", required = false) String fields) {
+        var selection = FieldSelection.parse(fields, OrderModelAssembler.FIELDS);
+        if (request.checkNotModified(orderService.getOrderVersion(id).tag())) {
+            return null;
+        }
         var order = orderService.getOrderById(id);
-        order.add(linkTo(methodOn(OrderController.class).getAllOrders()).withRel("Orders List"));
-
-        return ResponseEntity.status(HttpStatus.OK).body(order);
+        return ResponseEntity.status(HttpStatus.OK).eTag(OrderVersion.of(order).tag()).body(orderModelAssembler.withFields(selection).toDetailModel(order));
     }
 
     @PutMapping("/orders/{id}")
     public ResponseEntity<Object> updateOrder(@PathVariable(value="id") UUID id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                               @RequestBody @Valid OrderRecordDto orderRecordDto) {
-        return ResponseEntity.ok(orderService.updateOrder(id, orderRecordDto));
+        var order = orderService.updateOrder(id, orderRecordDto, ETags.ifMatch(ifMatch));
+        return ResponseEntity.ok().eTag(OrderVersion.of(order).tag()).body(orderModelAssembler.toModel(order));
     }
 
     @DeleteMapping("/orders/{id}")
@@ -59,4 +141,10 @@ public class OrderController {
         orderService.deleteOrder(id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    @PostMapping("/orders/bulk-delete")
+    public ResponseEntity<BulkDeleteResultDto> deleteOrders(@RequestBody List<UUID> ids) {
+        bulkImportProperties.checkDeleteIds(ids);
+        return ResponseEntity.status(HttpStatus.OK).body(orderService.deleteOrders(ids));
+    }
 }
@@ -1,56 +1,92 @@
 package com.example.springboot.controllers;
 
+import com.example.springboot.assemblers.ProductModelAssembler;
+import com.example.springboot.configs.BulkImportProperties;
+import com.example.springboot.configs.PaginationProperties;
+import com.example.springboot.dtos.BulkDeleteResultDto;
+import com.example.springboot.dtos.BulkResultDto;
+import com.example.springboot.dtos.ProductFilter;
 import com.example.springboot.dtos.ProductRecordDto;
-import com.example.springboot.models.Product;
+import com.example.springboot.dtos.ProductResponseDto;
+import com.example.springboot.services.BulkImporter;
 import com.example.springboot.services.ProductService;
 import jakarta.validation.Valid;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 public class ProductController {
 
     private final ProductService productService;
+    private final PaginationProperties paginationProperties;
+    private final ProductModelAssembler productModelAssembler;
+    private final BulkImporter bulkImporter;
+    private final BulkImportProperties bulkImportProperties;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, PaginationProperties paginationProperties, ProductModelAssembler productModelAssembler, BulkImporter bulkImporter,
+                             BulkImportProperties bulkImportProperties) {
         this.productService = productService;
+        this.paginationProperties = paginationProperties;
+        this.productModelAssembler = productModelAssembler;
+        this.bulkImporter = bulkImporter;
+        this.bulkImportProperties = bulkImportProperties;
     }
 
     @PostMapping("/products")
-    public ResponseEntity<Product> saveProduct(@RequestBody @Valid ProductRecordDto productRecordDto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(productService.save(productRecordDto));
+    public ResponseEntity<ProductResponseDto> saveProduct(@RequestBody @Valid ProductRecordDto productRecordDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(productModelAssembler.toModel(productService.save(productRecordDto)));
+    }
+
+    @PostMapping(value = "/products/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResultDto> saveProducts(InputStream body) throws IOException {
+        var productRecordDtos = bulkImporter.readRecords(body, ProductRecordDto.class);
+        return ResponseEntity.status(HttpStatus.OK).body(productService.saveAll(productRecordDtos));
     }
 
     @GetMapping("/products")
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> productList = productService.getAllProducts();
-        if (!productList.isEmpty()) {
-            for (Product product : productList) {
-                UUID id = product.getProductId();
-                product.add(linkTo(methodOn(ProductController.class).getOneProduct(id)).withSelfRel());
-            }
-        }
-        return ResponseEntity.status(HttpStatus.OK).body(productList);
+    public ResponseEntity<CollectionModel<ProductResponseDto>> getAllProducts(@RequestParam(value = "after", required = false) UUID after,
+                                                                              @RequestParam(value = "before", required = false) UUID before,
+                                                                              @RequestParam(value = "size", required = false) Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        var page = productService.getProductsPage(after, before, pageSize);
+        return ResponseEntity.status(HttpStatus.OK).body(productModelAssembler.toCollectionModel(page, after, before, pageSize));
+    }
+
+    @GetMapping("/products/search")
+    public ResponseEntity<CollectionModel<ProductResponseDto>> searchProducts(@RequestParam(value = "name", required = false) String name,
+                                                                              @RequestParam(value = "nameContains", required = false) String nameContains,
+                                                                              @RequestParam(value = "minValue", required = false) BigDecimal minValue,
+                                                                              @RequestParam(value = "maxValue", required = false) BigDecimal maxValue,
+                                                                              @RequestParam(value = "sort", required = false) String sort,
+                                                                              @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                              @RequestParam(value = "size", required = false) Integer size) {
+        var filter = new ProductFilter(name, nameContains, minValue, maxValue);
+        var window = productService.searchProducts(filter, sort, Math.max(page, 0), paginationProperties.resolveSize(size));
+        return ResponseEntity.status(HttpStatus.OK).body(productModelAssembler.toSearchModel(window, Math.max(page, 0)));
     }
 
     @GetMapping("/products/{id}")
     public ResponseEntity<Object> getOneProduct(@PathVariable(value="id") UUID id) {
         var product = productService.getProductById(id);
-        product.add(linkTo(methodOn(ProductController.class).getAllProducts()).withRel("Products List"));
-        return ResponseEntity.status(HttpStatus.OK).body(product);
+        return ResponseEntity.status(HttpStatus.OK).eTag(String.valueOf(product.getVersion())).body(productModelAssembler.toDetailModel(product));
     }
 
     @PutMapping("/products/{id}")
     public ResponseEntity<Object> updateProduct(@PathVariable(value="id") UUID id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                 @RequestBody @Valid ProductRecordDto productRecordDto) {
-        return ResponseEntity.status(HttpStatus.OK).body(productService.updateProduct(id, productRecordDto));
+        var product = productService.updateProduct(id, productRecordDto, ETags.ifMatch(ifMatch));
+        return ResponseEntity.status(HttpStatus.OK).eTag(String.valueOf(product.getVersion())).body(productModelAssembler.toModel(product));
     }
 
     @DeleteMapping("/products/{id}")
@@ -58,4 +94,10 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    @PostMapping("/products/bulk-delete")
+    public ResponseEntity<BulkDeleteResultDto> deleteProducts(@RequestBody List<UUID> ids) {
+        bulkImportProperties.checkDeleteIds(ids);
+        return ResponseEntity.status(HttpStatus.OK).body(productService.deleteProducts(ids));
+    }
 }
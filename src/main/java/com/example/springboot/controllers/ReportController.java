@@ -0,0 +1,74 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.configs.PaginationProperties;
+import com.example.springboot.configs.ReportProperties;
+import com.example.springboot.dtos.ClientRevenueDto;
+import com.example.springboot.dtos.DailyRevenueDto;
+import com.example.springboot.dtos.OrderCountDto;
+import com.example.springboot.dtos.ProductRevenueDto;
+import com.example.springboot.services.ReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reports over a window of order dates. {@code to} defaults to now and {@code from} to
+ * {@code api.reports.default-window} before it.
+ */
+@RestController
+public class ReportController {
+
+    private final ReportService reportService;
+    private final ReportProperties reportProperties;
+    private final PaginationProperties paginationProperties;
+
+    public ReportController(ReportService reportService, ReportProperties reportProperties, PaginationProperties paginationProperties) {
+        this.reportService = reportService;
+        this.reportProperties = reportProperties;
+        this.paginationProperties = paginationProperties;
+    }
+
+    @GetMapping("/reports/revenue/clients")
+    public ResponseEntity<List<ClientRevenueDto>> getRevenueByClient(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                     @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        var end = to == null ? LocalDateTime.now() : to;
+        var report = reportService.getRevenueByClient(start(from, end), end, paginationProperties.resolveSize(limit));
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    @GetMapping("/reports/revenue/products")
+    public ResponseEntity<List<ProductRevenueDto>> getRevenueByProduct(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                       @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                       @RequestParam(value = "limit", required = false) Integer limit) {
+        var end = to == null ? LocalDateTime.now() : to;
+        var report = reportService.getRevenueByProduct(start(from, end), end, paginationProperties.resolveSize(limit));
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    @GetMapping("/reports/revenue/daily")
+    public ResponseEntity<List<DailyRevenueDto>> getRevenueByDay(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                 @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        var end = to == null ? LocalDate.now() : to;
+        var start = from == null ? start(null, end.plusDays(1).atStartOfDay()).toLocalDate() : from;
+        return ResponseEntity.status(HttpStatus.OK).body(reportService.getRevenueByDay(start, end));
+    }
+
+    @GetMapping("/reports/orders/count")
+    public ResponseEntity<OrderCountDto> getOrderCount(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                       @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        var end = to == null ? LocalDateTime.now() : to;
+        return ResponseEntity.status(HttpStatus.OK).body(reportService.getOrderCount(start(from, end), end));
+    }
+
+    private LocalDateTime start(LocalDateTime from, LocalDateTime end) {
+        return from == null ? end.minus(reportProperties.defaultWindow()) : from;
+    }
+}
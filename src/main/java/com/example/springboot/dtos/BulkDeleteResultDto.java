@@ -0,0 +1,10 @@
+package com.example.springboot.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk delete, by id. Ids still referenced by orders are left in place.
+ */
+public record BulkDeleteResultDto(int requested, List<UUID> deleted, List<UUID> notFound, List<UUID> inUse) {
+}
@@ -0,0 +1,23 @@
+package com.example.springboot.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkItemResultDto(int index, Status status, UUID id, List<String> errors) {
+
+    public enum Status {
+        CREATED, INVALID, FAILED
+    }
+
+    public static BulkItemResultDto created(int index, UUID id) {
+        return new BulkItemResultDto(index, Status.CREATED, id, List.of());
+    }
+
+    public static BulkItemResultDto invalid(int index, List<String> errors) {
+        return new BulkItemResultDto(index, Status.INVALID, null, errors);
+    }
+
+    public static BulkItemResultDto failed(int index, String error) {
+        return new BulkItemResultDto(index, Status.FAILED, null, List.of(error));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.springboot.dtos;
+
+import java.util.List;
+
+public record BulkResultDto(int received, int created, int rejected, List<BulkItemResultDto> items) {
+
+    public static BulkResultDto of(List<BulkItemResultDto> items) {
+        int created = (int) items.stream().filter(item -> item.status() == BulkItemResultDto.Status.CREATED).count();
+        return new BulkResultDto(items.size(), created, items.size() - created, items);
+    }
+}
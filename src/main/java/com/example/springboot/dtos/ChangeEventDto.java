@@ -0,0 +1,21 @@
+package com.example.springboot.dtos;
+
+import com.example.springboot.models.ChangeEvent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * @param value product price or order total after the change, absent for deletions
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeEventDto(long sequence, ChangeEvent.Resource resource, UUID id, ChangeEvent.Action action,
+                             BigDecimal value, Instant occurredAt) {
+
+    public static ChangeEventDto of(ChangeEvent event) {
+        return new ChangeEventDto(event.getSequence(), event.getResource(), event.getResourceId(), event.getAction(),
+                event.getValue(), event.getOccurredAt());
+    }
+}
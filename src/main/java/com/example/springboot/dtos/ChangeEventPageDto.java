@@ -0,0 +1,13 @@
+package com.example.springboot.dtos;
+
+import java.util.List;
+
+/**
+ * @param lastSequence pass as {@code since} to continue after these events
+ */
+public record ChangeEventPageDto(List<ChangeEventDto> events, long lastSequence) {
+
+    public static ChangeEventPageDto of(List<ChangeEventDto> events, long since) {
+        return new ChangeEventPageDto(events, events.isEmpty() ? since : events.getLast().sequence());
+    }
+}
@@ -1,6 +1,21 @@
 package com.example.springboot.dtos;
 
+import com.example.springboot.models.Client;
 import jakarta.validation.constraints.NotBlank;
 
 public record ClientRecordDto(@NotBlank String name, @NotBlank String login, @NotBlank String email) {
+
+    public Client toEntity() {
+        return applyTo(new Client());
+    }
+
+    /**
+     * Copies the writable fields onto {@code client}, leaving its id untouched.
+     */
+    public Client applyTo(Client client) {
+        client.setName(name);
+        client.setLogin(login);
+        client.setEmail(email);
+        return client;
+    }
 }
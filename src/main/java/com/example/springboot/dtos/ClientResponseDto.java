@@ -0,0 +1,18 @@
+package com.example.springboot.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@Relation(collectionRelation = "clients")
+public class ClientResponseDto extends RepresentationModel<ClientResponseDto> {
+    private final UUID clientId;
+    private final String name;
+    private final String login;
+    private final String email;
+}
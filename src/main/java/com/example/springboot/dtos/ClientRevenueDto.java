@@ -0,0 +1,11 @@
+package com.example.springboot.dtos;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ClientRevenueDto(UUID clientId, String name, long orders, BigDecimal revenue) {
+
+    public ClientRevenueDto {
+        revenue = revenue == null ? BigDecimal.ZERO : revenue;
+    }
+}
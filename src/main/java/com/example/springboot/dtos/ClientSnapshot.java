@@ -0,0 +1,25 @@
+package com.example.springboot.dtos;
+
+import com.example.springboot.models.Client;
+
+import java.util.UUID;
+
+/**
+ * Immutable copy of a {@link Client} row, safe to share through the entity cache.
+ */
+public record ClientSnapshot(UUID clientId, String name, String login, String email, Long version) {
+
+    public static ClientSnapshot of(Client client) {
+        return new ClientSnapshot(client.getClientId(), client.getName(), client.getLogin(), client.getEmail(), client.getVersion());
+    }
+
+    public Client toEntity() {
+        var client = new Client();
+        client.setClientId(clientId);
+        client.setName(name);
+        client.setLogin(login);
+        client.setEmail(email);
+        client.setVersion(version);
+        return client;
+    }
+}
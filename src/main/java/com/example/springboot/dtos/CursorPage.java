@@ -0,0 +1,31 @@
+package com.example.springboot.dtos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Repositories are queried for {@code size + 1} rows so the
+ * presence of a further page can be detected without a count query.
+ */
+public record CursorPage<T>(List<T> content, UUID nextCursor, UUID previousCursor) {
+
+    public static <T> CursorPage<T> forward(List<T> rows, int size, boolean hasPrevious, Function<T, UUID> idOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        UUID next = hasNext ? idOf.apply(content.get(content.size() - 1)) : null;
+        UUID previous = hasPrevious && !content.isEmpty() ? idOf.apply(content.get(0)) : null;
+        return new CursorPage<>(List.copyOf(content), next, previous);
+    }
+
+    public static <T> CursorPage<T> backward(List<T> descendingRows, int size, Function<T, UUID> idOf) {
+        boolean hasPrevious = descendingRows.size() > size;
+        List<T> content = new ArrayList<>(hasPrevious ? descendingRows.subList(0, size) : descendingRows);
+        Collections.reverse(content);
+        UUID previous = hasPrevious ? idOf.apply(content.get(0)) : null;
+        UUID next = content.isEmpty() ? null : idOf.apply(content.get(content.size() - 1));
+        return new CursorPage<>(List.copyOf(content), next, previous);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.springboot.dtos;
+
+import com.example.springboot.models.DailyOrderSummary;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyRevenueDto(LocalDate day, long orders, BigDecimal revenue) {
+
+    public DailyRevenueDto {
+        revenue = revenue == null ? BigDecimal.ZERO : revenue;
+    }
+
+    public static DailyRevenueDto of(DailyOrderSummary summary) {
+        return new DailyRevenueDto(summary.getDay(), summary.getOrderCount(), summary.getRevenue());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.springboot.dtos;
+
+import java.util.UUID;
+
+/**
+ * A row about to be deleted, and whether other rows still reference it.
+ */
+public record DeleteCandidate(UUID id, boolean inUse) {
+}
@@ -0,0 +1,36 @@
+package com.example.springboot.dtos;
+
+import com.example.springboot.exceptions.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The top-level fields requested with a {@code fields=a,b} parameter. Without the parameter every
+ * field is included.
+ */
+public record FieldSelection(Set<String> fields) {
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    /**
+     * @throws InvalidRequestException if a requested field is not one of {@code available}
+     */
+    public static FieldSelection parse(String fields, Set<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        var requested = Arrays.stream(fields.split(",")).map(String::trim).filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        var unknown = requested.stream().filter(field -> !available.contains(field)).sorted().toList();
+        if (!unknown.isEmpty()) {
+            throw new InvalidRequestException("Unknown fields " + unknown + ", available fields are " + available.stream().sorted().toList());
+        }
+        return new FieldSelection(requested);
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.springboot.dtos;
+
+import java.time.LocalDateTime;
+
+public record OrderCountDto(LocalDateTime from, LocalDateTime to, long orders) {
+}
@@ -0,0 +1,10 @@
+package com.example.springboot.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Order search criteria over {@code [from, to)} of {@code orderedAt}; {@code null} criteria are not applied.
+ */
+public record OrderFilter(UUID clientId, LocalDateTime from, LocalDateTime to) {
+}
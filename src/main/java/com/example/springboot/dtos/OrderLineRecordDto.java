@@ -0,0 +1,9 @@
+package com.example.springboot.dtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record OrderLineRecordDto(@NotNull UUID productId, @Min(1) int quantity) {
+}
@@ -1,9 +1,44 @@
 package com.example.springboot.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
-public record OrderRecordDto(@NotNull UUID clientId, @NotNull List<UUID> productIds) {
+/**
+ * Products are given as {@code productIds}, each occurrence counting once, as {@code lines} with a
+ * quantity, or both; at least one product is required.
+ */
+public record OrderRecordDto(@NotNull UUID clientId, List<@NotNull UUID> productIds, List<@NotNull @Valid OrderLineRecordDto> lines) {
+
+    public OrderRecordDto(UUID clientId, List<UUID> productIds) {
+        this(clientId, productIds, null);
+    }
+
+    /**
+     * Quantity per product, in the order products were first given. Null entries, which validation
+     * rejects, are left out.
+     */
+    public Map<UUID, Integer> quantities() {
+        var quantities = new LinkedHashMap<UUID, Integer>();
+        if (productIds != null) {
+            productIds.stream().filter(Objects::nonNull).forEach(productId -> quantities.merge(productId, 1, Integer::sum));
+        }
+        if (lines != null) {
+            lines.stream().filter(Objects::nonNull).forEach(line -> quantities.merge(line.productId(), line.quantity(), Integer::sum));
+        }
+        return quantities;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "An order needs at least one product in productIds or lines")
+    public boolean isWithProducts() {
+        return !quantities().isEmpty();
+    }
 }
@@ -0,0 +1,24 @@
+package com.example.springboot.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@Relation(collectionRelation = "orders")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderResponseDto extends RepresentationModel<OrderResponseDto> {
+    private final UUID orderId;
+    private final LocalDateTime orderedAt;
+    private final ClientResponseDto client;
+    private final List<OrderLineResponseDto> lines;
+    private final BigDecimal total;
+}
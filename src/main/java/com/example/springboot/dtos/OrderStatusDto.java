@@ -0,0 +1,25 @@
+package com.example.springboot.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderStatusDto(UUID orderId, Status status, String message) {
+
+    public enum Status {
+        QUEUED, CREATED, FAILED
+    }
+
+    public static OrderStatusDto queued(UUID orderId) {
+        return new OrderStatusDto(orderId, Status.QUEUED, null);
+    }
+
+    public static OrderStatusDto created(UUID orderId) {
+        return new OrderStatusDto(orderId, Status.CREATED, null);
+    }
+
+    public static OrderStatusDto failed(UUID orderId, String message) {
+        return new OrderStatusDto(orderId, Status.FAILED, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.springboot.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The part of an order the daily summary is kept from, read without loading the order.
+ */
+public record OrderTotal(UUID orderId, LocalDateTime orderedAt, BigDecimal total) {
+}
@@ -0,0 +1,19 @@
+package com.example.springboot.dtos;
+
+import com.example.springboot.models.Order;
+
+/**
+ * Version of an order as rendered, which embeds its client. Lines are snapshots owned by the order,
+ * so replacing them bumps the order's own version and product changes do not affect it. Both
+ * components only grow, so the combined tag changes whenever any part of the representation does.
+ */
+public record OrderVersion(Long orderVersion, Long clientVersion) {
+
+    public static OrderVersion of(Order order) {
+        return new OrderVersion(order.getVersion(), order.getClient().getVersion());
+    }
+
+    public String tag() {
+        return orderVersion + "." + clientVersion;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.springboot.dtos;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An order accepted for asynchronous ingestion, with its id already assigned.
+ *
+ * @param quantities quantity per product id
+ */
+public record PendingOrder(UUID orderId, UUID clientId, Map<UUID, Integer> quantities, LocalDateTime orderedAt) {
+}
@@ -0,0 +1,12 @@
+package com.example.springboot.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * Product search criteria; {@code null} criteria are not applied.
+ *
+ * @param name         name prefix
+ * @param nameContains substring of the name
+ */
+public record ProductFilter(String name, String nameContains, BigDecimal minValue, BigDecimal maxValue) {
+}
@@ -1,9 +1,23 @@
 package com.example.springboot.dtos;
 
+import com.example.springboot.models.Product;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
 
 public record ProductRecordDto(@NotBlank String name, @NotNull BigDecimal value) {
+
+    public Product toEntity() {
+        return applyTo(new Product());
+    }
+
+    /**
+     * Copies the writable fields onto {@code product}, leaving its id untouched.
+     */
+    public Product applyTo(Product product) {
+        product.setName(name);
+        product.setValue(value);
+        return product;
+    }
 }
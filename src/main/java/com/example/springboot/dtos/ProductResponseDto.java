@@ -0,0 +1,18 @@
+package com.example.springboot.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@Relation(collectionRelation = "products")
+public class ProductResponseDto extends RepresentationModel<ProductResponseDto> {
+    private final UUID productId;
+    private final String name;
+    private final BigDecimal value;
+}
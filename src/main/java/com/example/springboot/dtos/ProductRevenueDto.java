@@ -0,0 +1,11 @@
+package com.example.springboot.dtos;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ProductRevenueDto(UUID productId, String name, long orders, BigDecimal revenue) {
+
+    public ProductRevenueDto {
+        revenue = revenue == null ? BigDecimal.ZERO : revenue;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.springboot.dtos;
+
+import com.example.springboot.models.Product;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a {@link Product} row, safe to share through the entity cache.
+ */
+public record ProductSnapshot(UUID productId, String name, BigDecimal value, Long version) {
+
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(product.getProductId(), product.getName(), product.getValue(), product.getVersion());
+    }
+
+    public Product toEntity() {
+        var product = new Product();
+        product.setProductId(productId);
+        product.setName(name);
+        product.setValue(value);
+        product.setVersion(version);
+        return product;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.springboot.migrations;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Moves the rows of the {@code order_products} join table of the baseline schema, which order
+ * lines replaced, into {@code order_lines} (created by V1.4) and drops it. This is what keeps the
+ * products of orders written before order lines existed. Each product of an order becomes one
+ * line. Its name and unit price are the product's current ones, as the join table never recorded
+ * them, and the order total is recomputed from the moved lines. Orders that already have lines are
+ * left as they are.
+ */
+@Component
+public class V2__MigrateOrderProducts extends BaseJavaMigration {
+
+    private static final String LEGACY_TABLE = "order_products";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        var connection = context.getConnection();
+        if (!tableExists(connection, LEGACY_TABLE)) {
+            return;
+        }
+        try (var statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                    insert into order_lines (order_line_id, order_id, product_id, product_name, quantity, unit_price)
+                    select %s, op.order_id, op.product_id, p.name, count(*), coalesce(p.value, 0)
+                    from order_products op
+                    join products p on p.product_id = op.product_id
+                    where not exists (select 1 from order_lines l where l.order_id = op.order_id)
+                    group by op.order_id, op.product_id, p.name, p.value""".formatted(newUuid(connection)));
+            statement.executeUpdate("""
+                    update orders
+                    set total = coalesce((select sum(l.unit_price * l.quantity) from order_lines l where l.order_id = orders.order_id), 0)
+                    where order_id in (select order_id from order_products)""");
+            statement.executeUpdate("drop table " + LEGACY_TABLE);
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        var metadata = connection.getMetaData();
+        var name = metadata.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+        try (var tables = metadata.getTables(connection.getCatalog(), connection.getSchema(), name, new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private static String newUuid(Connection connection) throws SQLException {
+        return switch (connection.getMetaData().getDatabaseProductName()) {
+            case "PostgreSQL" -> "gen_random_uuid()";
+            case "MySQL" -> "uuid_to_bin(uuid())";
+            default -> "random_uuid()";
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.springboot.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Transactional outbox row: written in the same transaction as the change it describes, so an event
+ * exists exactly when its change committed. The {@code sequence} orders the feed. It comes from a
+ * database sequence one value at a time, so values are handed out in the order the inserts run; they
+ * can still commit out of order, or not at all.
+ */
+@Entity
+@Table(name = "change_events", indexes = @Index(name = "idx_change_events_occurred_at", columnList = "occurredAt"))
+@Data
+public class ChangeEvent implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public enum Resource { ORDER, PRODUCT }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_events_seq")
+    @SequenceGenerator(name = "change_events_seq", sequenceName = "change_events_seq", allocationSize = 1)
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Resource resource;
+
+    @Column(nullable = false)
+    private UUID resourceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Action action;
+
+    /**
+     * Product price or order total after the change; {@code null} for deletions.
+     */
+    private BigDecimal value;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    public static ChangeEvent of(Resource resource, UUID resourceId, Action action, BigDecimal value) {
+        var event = new ChangeEvent();
+        event.setResource(resource);
+        event.setResourceId(resourceId);
+        event.setAction(action);
+        event.setValue(value);
+        event.setOccurredAt(Instant.now());
+        return event;
+    }
+}
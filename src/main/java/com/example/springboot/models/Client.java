@@ -3,8 +3,7 @@ package com.example.springboot.models;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
-import lombok.EqualsAndHashCode;
-import org.springframework.hateoas.RepresentationModel;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -14,17 +13,21 @@ import java.util.UUID;
 @Entity
 @Table(name = "clients")
 @Data
-@EqualsAndHashCode(callSuper = false)
-public class Client extends RepresentationModel<Client> implements Serializable {
+public class Client implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     private UUID clientId;
     private String name;
     private String login;
     private String email;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
     @OneToMany(mappedBy = "client")
     @JsonIgnore
     private List<Order> orders;
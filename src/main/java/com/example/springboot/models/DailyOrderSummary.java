@@ -0,0 +1,31 @@
+package com.example.springboot.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Order count and revenue per day of {@link Order#getOrderedAt()}, maintained incrementally on every
+ * order write when {@code api.reports.summary-table} is enabled.
+ */
+@Entity
+@Table(name = "daily_order_summary")
+@Data
+public class DailyOrderSummary implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "summary_day")
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+}
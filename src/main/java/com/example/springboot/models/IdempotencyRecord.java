@@ -0,0 +1,57 @@
+package com.example.springboot.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Claim of a request sent with an {@code Idempotency-Key} while it runs, then its response, replayed
+ * to retries of that request until {@code expiresAt}.
+ */
+@Entity
+@Table(name = "idempotency_records", indexes = @Index(name = "idx_idempotency_records_expires_at", columnList = "expiresAt"))
+@Data
+public class IdempotencyRecord implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Request path, SHA-256 of the caller and client supplied key.
+     */
+    @Id
+    @Column(length = 512)
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 of the request body, so a key reused for a different request is recognised.
+     */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /**
+     * {@code null} while the request is still running; the response fields are empty until then.
+     */
+    private Integer status;
+
+    private String contentType;
+
+    @Column(length = 2048)
+    private String location;
+
+    private String etag;
+
+    @Column(length = 1 << 20)
+    private byte[] body;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * End of the claim while the request runs, then of the replay.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
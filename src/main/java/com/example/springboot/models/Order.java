@@ -3,37 +3,68 @@ package com.example.springboot.models;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
-import org.springframework.hateoas.RepresentationModel;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_ordered_at", columnList = "ordered_at"),
+        @Index(name = "idx_orders_client_id_ordered_at", columnList = "client_id, ordered_at")
+})
 @Data
-@EqualsAndHashCode(callSuper = false)
-public class Order extends RepresentationModel<Order> implements Serializable {
+public class Order implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     private UUID orderId;
 
     private LocalDateTime orderedAt;
 
-    @ManyToOne
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
-    @ManyToMany
-    @JoinTable(
-        name = "order_products",
-        joinColumns = @JoinColumn(name = "order_id"),
-        inverseJoinColumns = @JoinColumn(name = "product_id")
-    )
-    private Set<Product> products;
+    /**
+     * Sum of the line totals, kept by {@link #replaceLines} so totals and listings are read from
+     * this table alone.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
+    @OrderBy("orderLineId")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<OrderLine> lines = new ArrayList<>();
+
+    /**
+     * Replaces the order's lines and recomputes its total.
+     */
+    public void replaceLines(Collection<OrderLine> newLines) {
+        lines.clear();
+        for (var line : newLines) {
+            line.setOrder(this);
+            lines.add(line);
+        }
+        total = lines.stream().map(OrderLine::getLineTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 }
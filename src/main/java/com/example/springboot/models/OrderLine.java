@@ -0,0 +1,65 @@
+package com.example.springboot.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A product on an order, with its name and unit price as they were when the order was written.
+ * Later changes to the product leave the line as it is.
+ */
+@Entity
+@Table(name = "order_lines", indexes = {
+        @Index(name = "idx_order_lines_order_id", columnList = "order_id"),
+        @Index(name = "idx_order_lines_product_id", columnList = "product_id")
+})
+@Data
+public class OrderLine implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @TimeOrderedUuid
+    private UUID orderLineId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Order order;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Product product;
+
+    private String productName;
+
+    private int quantity;
+
+    @Column(nullable = false)
+    private BigDecimal unitPrice;
+
+    public static OrderLine of(Product product, int quantity) {
+        var line = new OrderLine();
+        line.setProductId(product.getProductId());
+        line.setProductName(product.getName());
+        line.setQuantity(quantity);
+        line.setUnitPrice(product.getValue());
+        return line;
+    }
+
+    public BigDecimal getLineTotal() {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
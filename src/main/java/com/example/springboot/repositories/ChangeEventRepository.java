@@ -0,0 +1,25 @@
+package com.example.springboot.repositories;
+
+import com.example.springboot.models.ChangeEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    @Query("select max(e.sequence) from ChangeEvent e")
+    Optional<Long> findLastSequence();
+
+    List<ChangeEvent> findBySequenceGreaterThanOrderBySequenceAsc(long sequence, Limit limit);
+
+    @Modifying
+    @Query("delete from ChangeEvent e where e.occurredAt < :cutoff")
+    int deleteOccurredBefore(Instant cutoff);
+}
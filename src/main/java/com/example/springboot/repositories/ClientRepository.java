@@ -1,11 +1,45 @@
 package com.example.springboot.repositories;
 
+import com.example.springboot.dtos.DeleteCandidate;
 import com.example.springboot.models.Client;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, UUID> {
+
+    List<Client> findAllByOrderByClientIdAsc(Limit limit);
+
+    List<Client> findByClientIdGreaterThanOrderByClientIdAsc(UUID clientId, Limit limit);
+
+    List<Client> findByClientIdLessThanOrderByClientIdDesc(UUID clientId, Limit limit);
+
+    /*
+     * Deletes run as one statement and report the rows they removed. Whether orders still
+     * reference a row is checked first with an EXISTS served by idx_orders_client_id_ordered_at,
+     * so the foreign key is not left to fail the delete.
+     */
+
+    @Query("""
+            select new com.example.springboot.dtos.DeleteCandidate(c.clientId, case when exists (select 1 from Order o where o.client = c) then true else false end)
+            from Client c
+            where c.clientId in :ids""")
+    List<DeleteCandidate> findDeleteCandidates(Collection<UUID> ids);
+
+    /**
+     * Deletes the given clients unless an order refers to them by now.
+     */
+    @Modifying
+    @Query("""
+            delete from Client c
+            where c.clientId in :ids
+            and not exists (select 1 from Order o where o.client = c)""")
+    int deleteByIds(Collection<UUID> ids);
 }
@@ -0,0 +1,36 @@
+package com.example.springboot.repositories;
+
+import com.example.springboot.models.DailyOrderSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyOrderSummaryRepository extends JpaRepository<DailyOrderSummary, LocalDate> {
+
+    List<DailyOrderSummary> findByDayBetweenOrderByDayAsc(LocalDate from, LocalDate to);
+
+    /**
+     * Applies a delta in the database, creating the day's row if it is missing, in one statement
+     * ({@code on conflict do update} on PostgreSQL, {@code on duplicate key update} on MySQL), so
+     * concurrent writers never overwrite each other's counts.
+     */
+    @Modifying
+    @Query("""
+            insert into DailyOrderSummary (day, orderCount, revenue) values (:day, :orders, :revenue)
+            on conflict (day) do update set orderCount = orderCount + excluded.orderCount, revenue = revenue + excluded.revenue""")
+    int add(LocalDate day, long orders, BigDecimal revenue);
+
+    @Modifying
+    @Query("""
+            insert into DailyOrderSummary (day, orderCount, revenue)
+            select cast(o.orderedAt as LocalDate), count(o), sum(o.total)
+            from Order o
+            group by cast(o.orderedAt as LocalDate)""")
+    int rebuild();
+}
@@ -0,0 +1,34 @@
+package com.example.springboot.repositories;
+
+import com.example.springboot.models.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims a key. Fails on the primary key when the key is already claimed or completed.
+     */
+    @Modifying
+    @Query("""
+            insert into IdempotencyRecord (idempotencyKey, fingerprint, createdAt, expiresAt)
+            values (:key, :fingerprint, :createdAt, :expiresAt)""")
+    int insertClaim(String key, String fingerprint, Instant createdAt, Instant expiresAt);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.status is null")
+    int deleteClaim(String key);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.expiresAt < :now")
+    int deleteExpired(String key, Instant now);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
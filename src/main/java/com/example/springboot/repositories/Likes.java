@@ -0,0 +1,16 @@
+package com.example.springboot.repositories;
+
+/**
+ * Escaping of user input placed in LIKE patterns, so {@code %} and {@code _} match themselves.
+ */
+final class Likes {
+
+    static final char ESCAPE = '\\';
+
+    private Likes() {
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
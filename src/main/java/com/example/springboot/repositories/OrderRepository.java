@@ -1,11 +1,117 @@
 package com.example.springboot.repositories;
 
+import com.example.springboot.dtos.ClientRevenueDto;
+import com.example.springboot.dtos.DailyRevenueDto;
+import com.example.springboot.dtos.OrderTotal;
+import com.example.springboot.dtos.OrderVersion;
+import com.example.springboot.dtos.ProductRevenueDto;
 import com.example.springboot.models.Order;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order> {
+
+    /*
+     * List queries join the client only: fetch-joining the lines collection would make Hibernate
+     * apply the row limit in memory. Lines are loaded afterwards in batches (see Order#lines).
+     */
+
+    @Override
+    @EntityGraph(attributePaths = "client")
+    List<Order> findAll();
+
+    @EntityGraph(attributePaths = "client")
+    List<Order> findAllByOrderByOrderIdAsc(Limit limit);
+
+    @EntityGraph(attributePaths = "client")
+    List<Order> findByOrderIdGreaterThanOrderByOrderIdAsc(UUID orderId, Limit limit);
+
+    @EntityGraph(attributePaths = "client")
+    List<Order> findByOrderIdLessThanOrderByOrderIdDesc(UUID orderId, Limit limit);
+
+    @Override
+    @EntityGraph(attributePaths = {"client", "lines"})
+    Optional<Order> findById(UUID id);
+
+    @Query("select o from Order o join fetch o.client order by o.orderId")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Order> streamAll();
+
+    @Query("""
+            select new com.example.springboot.dtos.OrderVersion(o.version, c.version)
+            from Order o join o.client c
+            where o.orderId = :id""")
+    Optional<OrderVersion> findVersionById(UUID id);
+
+    /*
+     * Deletes work on ids without loading the orders. Bumping the version first locks the rows,
+     * so the totals read next stay current until the orders are gone, and a concurrent update
+     * fails on its version check.
+     */
+
+    @Modifying
+    @Query("update Order o set o.version = o.version + 1 where o.orderId in :ids")
+    int lockForDelete(Collection<UUID> ids);
+
+    @Query("select new com.example.springboot.dtos.OrderTotal(o.orderId, o.orderedAt, o.total) from Order o where o.orderId in :ids")
+    List<OrderTotal> findTotalsByIds(Collection<UUID> ids);
+
+    @Modifying
+    @Query("delete from OrderLine l where l.order.orderId in :ids")
+    int deleteLinesByOrderIds(Collection<UUID> ids);
+
+    @Modifying
+    @Query("delete from Order o where o.orderId in :ids")
+    int deleteByIds(Collection<UUID> ids);
+
+    /*
+     * Reporting queries aggregate in the database and return projections; no entity is hydrated.
+     * The window predicate on ordered_at is served by idx_orders_ordered_at. Revenue comes from the
+     * order totals and line prices captured when each order was written.
+     */
+
+    @Query("""
+            select new com.example.springboot.dtos.ClientRevenueDto(c.clientId, c.name, count(o), sum(o.total))
+            from Order o join o.client c
+            where o.orderedAt >= :from and o.orderedAt < :to
+            group by c.clientId, c.name
+            order by sum(o.total) desc""")
+    List<ClientRevenueDto> sumRevenueByClient(LocalDateTime from, LocalDateTime to, Limit limit);
+
+    @Query("""
+            select new com.example.springboot.dtos.ProductRevenueDto(p.productId, p.name, count(distinct o.orderId), sum(l.unitPrice * l.quantity))
+            from OrderLine l join l.order o join l.product p
+            where o.orderedAt >= :from and o.orderedAt < :to
+            group by p.productId, p.name
+            order by sum(l.unitPrice * l.quantity) desc""")
+    List<ProductRevenueDto> sumRevenueByProduct(LocalDateTime from, LocalDateTime to, Limit limit);
+
+    @Query("""
+            select new com.example.springboot.dtos.DailyRevenueDto(cast(o.orderedAt as LocalDate), count(o), sum(o.total))
+            from Order o
+            where o.orderedAt >= :from and o.orderedAt < :to
+            group by cast(o.orderedAt as LocalDate)
+            order by cast(o.orderedAt as LocalDate)""")
+    List<DailyRevenueDto> sumRevenueByDay(LocalDateTime from, LocalDateTime to);
+
+    @Query("select count(o) from Order o where o.orderedAt >= :from and o.orderedAt < :to")
+    long countOrderedBetween(LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,58 @@
+package com.example.springboot.repositories;
+
+import com.example.springboot.dtos.OrderFilter;
+import com.example.springboot.models.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Predicates for {@link OrderFilter}. A client filter is served by idx_orders_client_id_ordered_at,
+ * which also covers a date range and ordering by date within the client; a date range alone by
+ * idx_orders_ordered_at.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> matching(OrderFilter filter) {
+        List<Specification<Order>> specifications = new ArrayList<>();
+        if (filter.clientId() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get("client").get("clientId"), filter.clientId()));
+        }
+        if (filter.from() != null) {
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("orderedAt"), filter.from()));
+        }
+        if (filter.to() != null) {
+            specifications.add((root, query, cb) -> cb.lessThan(root.get("orderedAt"), filter.to()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * Orders with an id greater than {@code orderId}, or all orders when it is {@code null}.
+     */
+    public static Specification<Order> idAfter(UUID orderId) {
+        return (root, query, cb) -> orderId == null ? null : cb.greaterThan(root.get("orderId"), orderId);
+    }
+
+    public static Specification<Order> idBefore(UUID orderId) {
+        return (root, query, cb) -> cb.lessThan(root.get("orderId"), orderId);
+    }
+
+    /**
+     * Fetch-joins the client, as the list queries do with their entity graph. Count queries are left
+     * without the fetch, which they cannot carry.
+     */
+    public static Specification<Order> withClient() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("client");
+            }
+            return null;
+        };
+    }
+}
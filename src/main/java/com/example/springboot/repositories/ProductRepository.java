@@ -1,11 +1,46 @@
 package com.example.springboot.repositories;
 
+import com.example.springboot.dtos.DeleteCandidate;
 import com.example.springboot.models.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
+
+    List<Product> findAllByOrderByProductIdAsc(Limit limit);
+
+    List<Product> findByProductIdGreaterThanOrderByProductIdAsc(UUID productId, Limit limit);
+
+    List<Product> findByProductIdLessThanOrderByProductIdDesc(UUID productId, Limit limit);
+
+    /*
+     * Deletes run as one statement and report the rows they removed. Whether order lines still
+     * reference a row is checked first with an EXISTS served by idx_order_lines_product_id, so the
+     * foreign key is not left to fail the delete.
+     */
+
+    @Query("""
+            select new com.example.springboot.dtos.DeleteCandidate(p.productId, case when exists (select 1 from OrderLine l where l.productId = p.productId) then true else false end)
+            from Product p
+            where p.productId in :ids""")
+    List<DeleteCandidate> findDeleteCandidates(Collection<UUID> ids);
+
+    /**
+     * Deletes the given products unless an order line refers to them by now.
+     */
+    @Modifying
+    @Query("""
+            delete from Product p
+            where p.productId in :ids
+            and not exists (select 1 from OrderLine l where l.productId = p.productId)""")
+    int deleteByIds(Collection<UUID> ids);
 }
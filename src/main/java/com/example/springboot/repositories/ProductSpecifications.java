@@ -0,0 +1,36 @@
+package com.example.springboot.repositories;
+
+import com.example.springboot.dtos.ProductFilter;
+import com.example.springboot.models.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Predicates for {@link ProductFilter}. The name prefix and the value range are served by
+ * idx_products_name and idx_products_value; the name substring, on PostgreSQL, by the trigram
+ * index idx_products_name_trgm.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> matching(ProductFilter filter) {
+        List<Specification<Product>> specifications = new ArrayList<>();
+        if (filter.name() != null && !filter.name().isBlank()) {
+            specifications.add((root, query, cb) -> cb.like(root.get("name"), Likes.escape(filter.name()) + "%", Likes.ESCAPE));
+        }
+        if (filter.nameContains() != null && !filter.nameContains().isBlank()) {
+            specifications.add((root, query, cb) -> cb.like(root.get("name"), "%" + Likes.escape(filter.nameContains()) + "%", Likes.ESCAPE));
+        }
+        if (filter.minValue() != null) {
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("value"), filter.minValue()));
+        }
+        if (filter.maxValue() != null) {
+            specifications.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("value"), filter.maxValue()));
+        }
+        return Specification.allOf(specifications);
+    }
+}
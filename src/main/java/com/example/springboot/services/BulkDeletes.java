@@ -0,0 +1,69 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.BulkDeleteResultDto;
+import com.example.springboot.dtos.DeleteCandidate;
+import com.example.springboot.exceptions.DatabaseConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes of rows that orders may reference, without loading them: one query finds which ids exist
+ * and which are still referenced, and one statement deletes the rest, itself skipping any row
+ * referenced in the meantime. Must run in the caller's transaction, which a short delete rolls back.
+ */
+final class BulkDeletes {
+
+    private BulkDeletes() {
+    }
+
+    /**
+     * @param delete       deletes the ids that are not referenced and returns the rows deleted
+     * @param inUseMessage error raised if a reference appears between the check and the delete
+     */
+    static BulkDeleteResultDto delete(Collection<UUID> ids, Function<Collection<UUID>, List<DeleteCandidate>> findCandidates,
+                                      ToIntFunction<Collection<UUID>> delete, String inUseMessage) {
+        var requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty()) {
+            return new BulkDeleteResultDto(0, List.of(), List.of(), List.of());
+        }
+        var inUseById = new HashMap<UUID, Boolean>();
+        findCandidates.apply(requested).forEach(candidate -> inUseById.put(candidate.id(), candidate.inUse()));
+        var deleted = new ArrayList<UUID>();
+        var notFound = new ArrayList<UUID>();
+        var inUse = new ArrayList<UUID>();
+        for (var id : requested) {
+            var referenced = inUseById.get(id);
+            if (referenced == null) {
+                notFound.add(id);
+            } else if (referenced) {
+                inUse.add(id);
+            } else {
+                deleted.add(id);
+            }
+        }
+        if (!deleted.isEmpty()) {
+            int rows;
+            try {
+                rows = delete.applyAsInt(deleted);
+            } catch (DataIntegrityViolationException e) {
+                throw new DatabaseConstraintViolationException(inUseMessage);
+            }
+            if (rows != deleted.size()) {
+                if (findCandidates.apply(deleted).stream().anyMatch(DeleteCandidate::inUse)) {
+                    throw new DatabaseConstraintViolationException(inUseMessage);
+                }
+                throw new OptimisticLockingFailureException("Some of " + deleted + " were deleted concurrently");
+            }
+        }
+        return new BulkDeleteResultDto(requested.size(), deleted, notFound, inUse);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.BulkImportProperties;
+import com.example.springboot.dtos.BulkItemResultDto;
+import com.example.springboot.dtos.BulkResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Validates records in a single streaming pass and persists the valid ones in chunks, one
+ * transaction per chunk, so Hibernate can send them as JDBC batches.
+ */
+@Component
+public class BulkImporter {
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkImporter(Validator validator, ObjectMapper objectMapper, EntityManager entityManager,
+                        PlatformTransactionManager transactionManager, BulkImportProperties properties) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = properties.chunkSize();
+    }
+
+    /**
+     * Reads either a JSON array or newline-delimited JSON values from {@code body}, lazily.
+     */
+    public <T> Iterator<T> readRecords(InputStream body, Class<T> type) throws IOException {
+        return objectMapper.readerFor(type).readValues(body);
+    }
+
+    public <T, E> BulkResultDto importAll(Iterator<T> records, Function<T, E> toEntity,
+                                          JpaRepository<E, UUID> repository, Function<E, UUID> idOf) {
+        var results = new ArrayList<BulkItemResultDto>();
+        var chunk = new ArrayList<E>(chunkSize);
+        var chunkIndexes = new ArrayList<Integer>(chunkSize);
+        var index = 0;
+        while (true) {
+            T record;
+            try {
+                if (!records.hasNext()) {
+                    break;
+                }
+                record = records.next();
+            } catch (RuntimeException e) {
+                results.add(BulkItemResultDto.invalid(index, List.of("Malformed record: " + e.getMessage())));
+                break;
+            }
+            var violations = validator.validate(record);
+            if (violations.isEmpty()) {
+                chunk.add(toEntity.apply(record));
+                chunkIndexes.add(index);
+            } else {
+                results.add(BulkItemResultDto.invalid(index, violations.stream().map(BulkImporter::describe).sorted().toList()));
+            }
+            index++;
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunk, chunkIndexes, repository, idOf, results);
+            }
+        }
+        persistChunk(chunk, chunkIndexes, repository, idOf, results);
+        results.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        return BulkResultDto.of(results);
+    }
+
+    private <E> void persistChunk(List<E> chunk, List<Integer> chunkIndexes, JpaRepository<E, UUID> repository,
+                                  Function<E, UUID> idOf, List<BulkItemResultDto> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.saveAll(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(BulkItemResultDto.created(chunkIndexes.get(i), idOf.apply(chunk.get(i))));
+            }
+        } catch (RuntimeException e) {
+            for (Integer chunkIndex : chunkIndexes) {
+                results.add(BulkItemResultDto.failed(chunkIndex, "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private static String describe(ConstraintViolation<?> violation) {
+        return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+}
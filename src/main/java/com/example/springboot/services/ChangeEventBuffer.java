@@ -0,0 +1,123 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.ChangeEventDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size ring of the most recently published events, in sequence order. Readers that fell
+ * behind the ring are told so and go to the outbox table instead. Uses a lock rather than
+ * {@code synchronized} so waiting subscribers do not pin virtual threads.
+ */
+final class ChangeEventBuffer {
+
+    private final ChangeEventDto[] slots;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private int head;
+    private int size;
+    private long floor;
+    private long lastSequence;
+
+    /**
+     * @param floor every published event after this sequence is appended to the buffer
+     */
+    ChangeEventBuffer(int capacity, long floor) {
+        this.slots = new ChangeEventDto[capacity];
+        this.floor = floor;
+        this.lastSequence = floor;
+    }
+
+    void append(ChangeEventDto event) {
+        lock.lock();
+        try {
+            if (size == slots.length) {
+                floor = slots[head].sequence();
+                slots[head] = event;
+                head = (head + 1) % slots.length;
+            } else {
+                slots[(head + size) % slots.length] = event;
+                size++;
+            }
+            lastSequence = event.sequence();
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} events after {@code since}, or {@code null} if events after it
+     * have already been dropped from the ring
+     */
+    List<ChangeEventDto> readAfter(long since, int limit) {
+        lock.lock();
+        try {
+            if (since < floor) {
+                return null;
+            }
+            var events = new ArrayList<ChangeEventDto>(Math.min(limit, size));
+            for (int i = firstAfter(since); i < size && events.size() < limit; i++) {
+                events.add(slots[(head + i) % slots.length]);
+            }
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return whether an event after {@code since} was published before the timeout
+     */
+    boolean awaitAfter(long since, long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            var remaining = timeoutNanos;
+            while (lastSequence <= since) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = appended.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long floor() {
+        lock.lock();
+        try {
+            return floor;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int firstAfter(long since) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (slots[(head + mid) % slots.length].sequence() <= since) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,376 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.ChangeEventProperties;
+import com.example.springboot.dtos.ChangeEventDto;
+import com.example.springboot.exceptions.TooManyRequestsException;
+import com.example.springboot.models.ChangeEvent;
+import com.example.springboot.repositories.ChangeEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Feed of order and product changes. Writers {@link #record} events in their own transaction, into
+ * the {@code change_events} outbox. The events are inserted as that transaction commits, taking their
+ * sequences from a database sequence, so transactions commit without waiting for each other and a
+ * sequence can become visible before an earlier one. Committed events are published into an
+ * in-memory {@link ChangeEventBuffer} in sequence order, up to the first sequence not committed yet:
+ * readers never move past a sequence that may still commit. A missing sequence is given up once an
+ * event after it has been seen for {@code api.events.settle-delay}, longer than the insert and commit
+ * it stands for can take, or at once if it was rolled back here. Events of other instances are picked
+ * up by polling the outbox every {@code api.events.poll-interval}. Readers behind the buffer are served
+ * from the outbox, so a restart or a slow subscriber loses nothing within {@code api.events.retention}.
+ */
+@Service
+public class ChangeEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventService.class);
+
+    private static final int STREAM_BATCH_SIZE = 100;
+
+    /**
+     * Receives the events of one subscription.
+     */
+    public interface Subscriber {
+        boolean isOpen();
+
+        void send(ChangeEventDto event) throws IOException;
+
+        void heartbeat() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Stream {
+        void run() throws IOException, InterruptedException;
+    }
+
+    /**
+     * A committed event after a sequence that is still missing, and when it was first seen.
+     */
+    private record Waiting(ChangeEventDto event, long seenAt) {
+    }
+
+    private final ChangeEventRepository changeEventRepository;
+    private final EntityManager entityManager;
+    private final ChangeEventProperties properties;
+    private volatile ChangeEventBuffer buffer;
+    private final Semaphore subscriptions;
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final TreeMap<Long, Waiting> waiting = new TreeMap<>();
+    private final TreeSet<Long> rolledBack = new TreeSet<>();
+    private long published;
+
+    public ChangeEventService(ChangeEventRepository changeEventRepository, EntityManager entityManager,
+                              ChangeEventProperties properties, MeterRegistry meterRegistry) {
+        this.changeEventRepository = changeEventRepository;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.subscriptions = new Semaphore(properties.maxSubscribers());
+        Gauge.builder("events.subscribers", subscriptions, semaphore -> properties.maxSubscribers() - semaphore.availablePermits())
+                .description("Open change event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds the event to the outbox as part of the caller's transaction. It is inserted, together with
+     * the transaction's other events, when the transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeEvent.Resource resource, UUID resourceId, ChangeEvent.Action action, BigDecimal value) {
+        buffer();
+        pendingEvents().add(ChangeEvent.of(resource, resourceId, action, value));
+    }
+
+    /**
+     * Reads the outbox on the primary: a lagging replica would skip the events between its last row and
+     * the buffer.
+     *
+     * @return up to {@code limit} events after {@code since}, in sequence order
+     */
+    @Transactional
+    public List<ChangeEventDto> getEventsAfter(long since, int limit) {
+        var buffer = buffer();
+        var events = buffer.readAfter(since, limit);
+        if (events != null) {
+            return events;
+        }
+        var floor = buffer.floor();
+        var rows = changeEventRepository.findBySequenceGreaterThanOrderBySequenceAsc(since, Limit.of(limit));
+        var replayed = new ArrayList<ChangeEventDto>(limit);
+        rows.stream()
+                .filter(event -> event.getSequence() <= floor)
+                .forEach(event -> replayed.add(ChangeEventDto.of(event)));
+        var reachedFloor = !rows.isEmpty() && rows.getLast().getSequence() >= floor;
+        if (reachedFloor && replayed.size() < limit) {
+            var buffered = buffer.readAfter(floor, limit - replayed.size());
+            if (buffered != null) {
+                replayed.addAll(buffered);
+            }
+        }
+        return replayed;
+    }
+
+    public long getLastSequence() {
+        return buffer().lastSequence();
+    }
+
+    /**
+     * Opens a stream of every event after {@code since}. Running it pushes events to the subscriber
+     * until the subscriber closes or {@code api.events.stream-timeout} passes. Each subscriber reads
+     * at its own pace from the buffer, or from the outbox once it falls behind, so a slow one only
+     * delays itself.
+     *
+     * @throws TooManyRequestsException if {@code api.events.max-subscribers} streams are already open
+     */
+    public Stream subscribe(long since, Subscriber subscriber) {
+        if (!subscriptions.tryAcquire()) {
+            throw new TooManyRequestsException("Too many open event streams, retry later.", properties.heartbeat());
+        }
+        return () -> {
+            try {
+                follow(since, subscriber);
+            } finally {
+                subscriptions.release();
+            }
+        };
+    }
+
+    /**
+     * Publishes the events committed since the last published sequence, whichever instance wrote them,
+     * then gives up on the missing sequences that have settled. Reads the primary, so local events
+     * waiting behind them are not held back by replication lag. Does nothing until the feed has been
+     * used, keeping idle instances off the outbox.
+     */
+    @Scheduled(fixedDelayString = "${api.events.poll-interval:250ms}")
+    @Transactional
+    public void pollOutbox() {
+        if (buffer == null) {
+            return;
+        }
+        while (true) {
+            var after = publishedSequence();
+            var events = changeEventRepository.findBySequenceGreaterThanOrderBySequenceAsc(after, Limit.of(STREAM_BATCH_SIZE));
+            publish(events.stream().map(ChangeEventDto::of).toList());
+            if (events.size() < STREAM_BATCH_SIZE || publishedSequence() == after) {
+                break;
+            }
+        }
+        settle();
+    }
+
+    @Scheduled(fixedDelayString = "${api.events.prune-interval:1h}")
+    @Transactional
+    public void pruneExpired() {
+        var deleted = changeEventRepository.deleteOccurredBefore(Instant.now().minus(properties.retention()));
+        if (deleted > 0) {
+            log.info("Deleted {} change events older than {}", deleted, properties.retention());
+        }
+    }
+
+    private void follow(long since, Subscriber subscriber) throws IOException, InterruptedException {
+        var deadline = System.nanoTime() + properties.streamTimeout().toNanos();
+        var cursor = since;
+        while (subscriber.isOpen() && deadline - System.nanoTime() > 0) {
+            var events = getEventsAfter(cursor, STREAM_BATCH_SIZE);
+            for (var event : events) {
+                subscriber.send(event);
+                cursor = event.sequence();
+            }
+            if (events.isEmpty()) {
+                var wait = Math.min(properties.heartbeat().toNanos(), deadline - System.nanoTime());
+                if (!buffer().awaitAfter(cursor, wait)) {
+                    subscriber.heartbeat();
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the tail of the outbox on first use rather than at startup, keeping the database out of
+     * the boot path. {@link #record} calls it inside the writing transaction, so the buffer exists
+     * before its events are published.
+     */
+    private ChangeEventBuffer buffer() {
+        var loaded = buffer;
+        if (loaded != null) {
+            return loaded;
+        }
+        publishLock.lock();
+        try {
+            if (buffer == null) {
+                var lastSequence = changeEventRepository.findLastSequence().orElse(0L);
+                var recent = changeEventRepository.findBySequenceGreaterThanOrderBySequenceAsc(
+                        Math.max(0, lastSequence - properties.bufferSize()), Limit.of(properties.bufferSize()));
+                var floor = recent.size() < properties.bufferSize() ? 0 : recent.getFirst().getSequence() - 1;
+                buffer = new ChangeEventBuffer(properties.bufferSize(), floor);
+                // the tail may have gaps still to commit; like any other, they hold back what follows
+                published = floor;
+                publish(recent.stream().map(ChangeEventDto::of).toList());
+            }
+            return buffer;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * @return the events recorded in the current transaction, registering the synchronization that
+     * inserts and publishes them on the first call
+     */
+    private List<ChangeEvent> pendingEvents() {
+        for (var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending) {
+                return pending.events;
+            }
+        }
+        var pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.events;
+    }
+
+    /**
+     * Inserts the events at the end of the transaction. The transaction's own changes are flushed
+     * first, so the events take their sequences as close to the commit as possible, keeping short the
+     * time a sequence can stay missing.
+     */
+    private void insert(List<ChangeEvent> events) {
+        entityManager.flush();
+        events.forEach(entityManager::persist);
+    }
+
+    private long publishedSequence() {
+        publishLock.lock();
+        try {
+            return published;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Appends events to the buffer in sequence order. One that comes after a sequence not published
+     * yet, committed by another instance or by a local transaction whose publication is still to
+     * come, waits until that sequence arrives or is given up.
+     */
+    private void publish(List<ChangeEventDto> events) {
+        publishLock.lock();
+        try {
+            var seenAt = System.nanoTime();
+            for (var event : events) {
+                if (event.sequence() <= published) {
+                    var buffered = buffer.readAfter(event.sequence() - 1, 1);
+                    if (buffered != null && (buffered.isEmpty() || buffered.getFirst().sequence() != event.sequence())) {
+                        log.warn("Change event {} committed after its sequence was given up; only outbox readers see it", event.sequence());
+                    }
+                    continue;
+                }
+                waiting.putIfAbsent(event.sequence(), new Waiting(event, seenAt));
+            }
+            drain();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Gives up on sequences a local transaction took and then rolled back, so events after them need
+     * not wait for the settle delay.
+     */
+    private void release(List<Long> sequences) {
+        publishLock.lock();
+        try {
+            sequences.stream().filter(sequence -> sequence > published).forEach(rolledBack::add);
+            drain();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Gives up on every missing sequence below an event seen at least {@code api.events.settle-delay}
+     * ago. That sequence was taken before the event's, so its transaction has been inserting and
+     * committing for longer than that and is taken to have rolled back.
+     */
+    private void settle() {
+        publishLock.lock();
+        try {
+            var settledAt = System.nanoTime() - properties.settleDelay().toNanos();
+            var through = -1L;
+            for (var entry : waiting.entrySet()) {
+                if (entry.getValue().seenAt() - settledAt <= 0) {
+                    through = entry.getKey();
+                }
+            }
+            if (through < 0) {
+                return;
+            }
+            var skipped = through - published - waiting.headMap(through, true).size();
+            log.warn("Giving up on {} change event sequences between {} and {}, uncommitted after {}",
+                    skipped, published + 1, through, properties.settleDelay());
+            while (!waiting.isEmpty() && waiting.firstKey() <= through) {
+                buffer.append(waiting.pollFirstEntry().getValue().event());
+            }
+            published = through;
+            drain();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            var next = published + 1;
+            if (!waiting.isEmpty() && waiting.firstKey() == next) {
+                buffer.append(waiting.pollFirstEntry().getValue().event());
+            } else if (!rolledBack.remove(next)) {
+                break;
+            }
+            published = next;
+        }
+        rolledBack.headSet(published, true).clear();
+    }
+
+    private class PendingEvents implements TransactionSynchronization {
+
+        private final List<ChangeEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insert(events);
+        }
+
+        @Override
+        public void afterCommit() {
+            publish(events.stream().map(ChangeEventDto::of).toList());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED) {
+                release(events.stream().map(ChangeEvent::getSequence).filter(Objects::nonNull).toList());
+            }
+        }
+    }
+}
@@ -1,51 +1,111 @@
 package com.example.springboot.services;
 
+import com.example.springboot.dtos.BulkDeleteResultDto;
+import com.example.springboot.dtos.BulkResultDto;
 import com.example.springboot.dtos.ClientRecordDto;
+import com.example.springboot.dtos.ClientSnapshot;
+import com.example.springboot.dtos.CursorPage;
 import com.example.springboot.exceptions.DatabaseConstraintViolationException;
 import com.example.springboot.exceptions.ResourceNotFoundException;
 import com.example.springboot.models.Client;
 import com.example.springboot.repositories.ClientRepository;
-import org.springframework.beans.BeanUtils;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class ClientService {
+    private static final String CLIENT_IN_USE = "Cannot delete client because there are orders associated with it.";
+
     private final ClientRepository clientRepository;
+    private final BulkImporter bulkImporter;
+    private final EntityCache<ClientSnapshot> clientCache;
 
-    public ClientService(ClientRepository clientRepository) {
+    public ClientService(ClientRepository clientRepository, BulkImporter bulkImporter, EntityCache<ClientSnapshot> clientCache) {
         this.clientRepository = clientRepository;
+        this.bulkImporter = bulkImporter;
+        this.clientCache = clientCache;
     }
 
+    @Transactional
     public Client save(ClientRecordDto clientRecordDto) {
-        var client = new Client();
-        BeanUtils.copyProperties(clientRecordDto, client);
-        return clientRepository.save(client);
+        return clientRepository.save(clientRecordDto.toEntity());
+    }
+
+    public BulkResultDto saveAll(Iterator<ClientRecordDto> clientRecordDtos) {
+        return bulkImporter.importAll(clientRecordDtos, ClientRecordDto::toEntity, clientRepository, Client::getClientId);
     }
 
+    @Transactional(readOnly = true)
     public List<Client> getAllClients() {
         return clientRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Client> getClientsPage(UUID after, UUID before, int size) {
+        var limit = Limit.of(size + 1);
+        if (before != null) {
+            return CursorPage.backward(clientRepository.findByClientIdLessThanOrderByClientIdDesc(before, limit), size, Client::getClientId);
+        }
+        var rows = after == null
+                ? clientRepository.findAllByOrderByClientIdAsc(limit)
+                : clientRepository.findByClientIdGreaterThanOrderByClientIdAsc(after, limit);
+        return CursorPage.forward(rows, size, after != null, Client::getClientId);
+    }
+
+    /**
+     * Served from the client cache; the returned entity is a detached copy of the cached snapshot.
+     * Not read-only, so misses are loaded from the primary rather than a lagging replica.
+     */
+    @Transactional
     public Client getClientById(UUID id) {
-        return clientRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Client not found: " + id));
+        return clientCache.get(id, key -> ClientSnapshot.of(findClient(key))).toEntity();
     }
 
+    @Transactional
     public Client updateClient(UUID id, ClientRecordDto clientRecordDto) {
-        var client = getClientById(id);
-        BeanUtils.copyProperties(clientRecordDto, client);
-        return clientRepository.save(client);
+        return updateClient(id, clientRecordDto, null);
     }
 
+    /**
+     * @param expectedVersions versions the stored client must still have, or {@code null} to update unconditionally
+     */
+    @Transactional
+    public Client updateClient(UUID id, ClientRecordDto clientRecordDto, Collection<String> expectedVersions) {
+        var client = findClient(id);
+        IfMatch.check(expectedVersions, () -> String.valueOf(client.getVersion()), "Client " + id);
+        var updatedClient = IfMatch.save(expectedVersions, () -> clientRepository.saveAndFlush(clientRecordDto.applyTo(client)), "Client " + id);
+        clientCache.evict(id);
+        return updatedClient;
+    }
+
+    @Transactional
     public void deleteClient(UUID id) {
-        try {
-            var client = getClientById(id);
-            clientRepository.delete(client);
-        } catch (DataIntegrityViolationException e) {
-            throw new DatabaseConstraintViolationException("Cannot delete client because there are orders associated with it.");
+        var result = deleteClients(List.of(id));
+        if (!result.notFound().isEmpty()) {
+            throw new ResourceNotFoundException("Client not found: " + id);
+        }
+        if (!result.inUse().isEmpty()) {
+            throw new DatabaseConstraintViolationException(CLIENT_IN_USE);
         }
     }
+
+    /**
+     * Deletes the clients without orders among {@code ids}; the others are reported, not deleted.
+     */
+    @Transactional
+    public BulkDeleteResultDto deleteClients(Collection<UUID> ids) {
+        var result = BulkDeletes.delete(ids, clientRepository::findDeleteCandidates, clientRepository::deleteByIds, CLIENT_IN_USE);
+        result.deleted().forEach(clientCache::evict);
+        return result;
+    }
+
+    private Client findClient(UUID id) {
+        return clientRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Client not found: " + id));
+    }
 }
@@ -0,0 +1,78 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.EntityCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache keyed by entity id. Values must be immutable snapshots, never managed
+ * entities. When disabled every lookup goes straight to the loader.
+ */
+public class EntityCache<V> {
+
+    private final Cache<UUID, V> cache;
+
+    private EntityCache(Cache<UUID, V> cache) {
+        this.cache = cache;
+    }
+
+    public static <V> EntityCache<V> create(String name, EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return disabled();
+        }
+        Cache<UUID, V> cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return new EntityCache<>(cache);
+    }
+
+    public static <V> EntityCache<V> disabled() {
+        return new EntityCache<>(null);
+    }
+
+    public V get(UUID id, Function<UUID, V> loader) {
+        return cache == null ? loader.apply(id) : cache.get(id, loader);
+    }
+
+    /**
+     * Returns the cached values for {@code ids}, loading the missing ones together through {@code loader}.
+     */
+    public Map<UUID, V> getAll(Collection<UUID> ids, Function<Collection<UUID>, Map<UUID, V>> loader) {
+        if (cache == null) {
+            return loader.apply(ids);
+        }
+        return cache.getAll(ids, missingIds -> loader.apply(new ArrayList<>(missingIds)));
+    }
+
+    /**
+     * Inside a transaction the entry is evicted again once it completes, so a lookup racing the
+     * commit cannot leave the old value cached.
+     */
+    public void evict(UUID id) {
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+}
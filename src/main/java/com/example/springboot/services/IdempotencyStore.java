@@ -0,0 +1,295 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.IdempotencyProperties;
+import com.example.springboot.models.IdempotencyRecord;
+import com.example.springboot.repositories.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Remembers requests sent with an {@code Idempotency-Key}. The first request for a key
+ * {@linkplain #claim claims} it and later {@linkplain #complete completes} it with its response;
+ * duplicates arriving meanwhile get a future of that response instead of running again. A claim is
+ * also a row in the {@code idempotency_records} table, inserted under the key's primary key, so a
+ * duplicate on another instance finds it and waits too; an instance that dies holding a claim gives
+ * the key up after {@code api.idempotency.claim-timeout}. Completed responses are kept in a bounded
+ * in-memory cache and in that row, which also covers restarts, until {@code api.idempotency.ttl}
+ * has passed.
+ * <p>
+ * In-memory key state is guarded by a fixed set of lock stripes, so unrelated keys rarely contend
+ * and the check for a running request and the local claim happen atomically. The database is only
+ * consulted outside the stripe, while duplicates on this instance wait for the local claim.
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+    private static final Duration REMOTE_CLAIM_POLL_INTERVAL = Duration.ofMillis(100);
+
+    /**
+     * Response replayed for a key.
+     */
+    public record Response(int status, String contentType, String location, String etag, byte[] body) {
+    }
+
+    /**
+     * Outcome of {@link #claim}.
+     */
+    public sealed interface Claim {
+        /**
+         * The caller owns the key and must {@link #complete} or {@link #release} it.
+         */
+        record Claimed() implements Claim {
+        }
+
+        record Completed(Response response) implements Claim {
+        }
+
+        /**
+         * Another request with the key is running; the future yields its response, or {@code null}
+         * when it ended without one, or runs on another instance, and the key should be claimed again.
+         */
+        record InFlight(CompletableFuture<Response> response) implements Claim {
+        }
+
+        /**
+         * The key was used for a different request.
+         */
+        record Mismatch() implements Claim {
+        }
+    }
+
+    private record Running(String fingerprint, CompletableFuture<Response> response) {
+    }
+
+    private record Stored(String fingerprint, Response response, Instant expiresAt) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    private final ReentrantLock[] stripes;
+    private final Map<String, Running> running = new ConcurrentHashMap<>();
+    private final Cache<String, Stored> completed;
+    private final Counter replayedCounter;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, PlatformTransactionManager transactionManager,
+                            IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.stripes = new ReentrantLock[properties.stripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.maximumKeys())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+        this.replayedCounter = Counter.builder("idempotency.replayed")
+                .description("Requests answered with the stored response of an earlier request with the same Idempotency-Key")
+                .register(meterRegistry);
+        Gauge.builder("idempotency.in.flight", running, Map::size)
+                .register(meterRegistry);
+    }
+
+    public Claim claim(String key, String fingerprint) {
+        var lock = stripe(key);
+        lock.lock();
+        try {
+            var current = running.get(key);
+            if (current != null) {
+                return current.fingerprint().equals(fingerprint) ? new Claim.InFlight(current.response()) : new Claim.Mismatch();
+            }
+            var stored = cached(key);
+            if (stored != null) {
+                return replay(stored, fingerprint);
+            }
+            running.put(key, new Running(fingerprint, new CompletableFuture<>()));
+        } finally {
+            lock.unlock();
+        }
+        Claim claim;
+        try {
+            claim = claimInDatabase(key, fingerprint);
+        } catch (RuntimeException e) {
+            forget(key, null);
+            throw e;
+        }
+        if (!(claim instanceof Claim.Claimed)) {
+            forget(key, claim instanceof Claim.Completed completed ? completed.response() : null);
+        }
+        return claim;
+    }
+
+    /**
+     * Stores the response of a claimed key and hands it to the requests waiting for it. A failure
+     * to persist it is logged rather than thrown: other instances then run the request again once
+     * the claim expires.
+     */
+    public void complete(String key, Response response) {
+        var now = Instant.now();
+        var expiresAt = now.plus(properties.ttl());
+        Running current;
+        var lock = stripe(key);
+        lock.lock();
+        try {
+            current = running.remove(key);
+            if (current == null) {
+                return;
+            }
+            completed.put(key, new Stored(current.fingerprint(), response, expiresAt));
+        } finally {
+            lock.unlock();
+        }
+        current.response().complete(response);
+        try {
+            repository.save(toRecord(key, current.fingerprint(), response, now, expiresAt));
+        } catch (DataAccessException e) {
+            log.warn("Could not persist the response for idempotency key {}", key, e);
+        }
+    }
+
+    /**
+     * Gives up a claimed key without a response, for instance after an error, so a retry runs again.
+     */
+    public void release(String key) {
+        if (!forget(key, null)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.deleteClaim(key));
+        } catch (DataAccessException e) {
+            log.warn("Could not release idempotency key {}; it stays claimed for {}", key, properties.claimTimeout(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.idempotency.prune-interval:10m}")
+    @Transactional
+    public void pruneExpired() {
+        var deleted = repository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency records", deleted);
+        }
+    }
+
+    private Stored cached(String key) {
+        var stored = completed.getIfPresent(key);
+        if (stored != null && !stored.expiresAt().isAfter(Instant.now())) {
+            completed.invalidate(key);
+            return null;
+        }
+        return stored;
+    }
+
+    private Claim replay(Stored stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            return new Claim.Mismatch();
+        }
+        replayedCounter.increment();
+        return new Claim.Completed(stored.response());
+    }
+
+    /**
+     * Takes the key in the database, on the primary: inserting the claim row fails on its primary
+     * key when another instance holds or completed the key.
+     */
+    private Claim claimInDatabase(String key, String fingerprint) {
+        try {
+            return transactionTemplate.execute(status -> {
+                var now = Instant.now();
+                var record = repository.findById(key).orElse(null);
+                if (record != null && record.getExpiresAt().isAfter(now)) {
+                    if (record.getStatus() == null) {
+                        return record.getFingerprint().equals(fingerprint) ? claimedElsewhere() : new Claim.Mismatch();
+                    }
+                    var stored = fromRecord(record);
+                    completed.put(key, stored);
+                    return replay(stored, fingerprint);
+                }
+                if (record != null) {
+                    repository.deleteExpired(key, now);
+                }
+                repository.insertClaim(key, fingerprint, now, now.plus(properties.claimTimeout()));
+                return new Claim.Claimed();
+            });
+        } catch (DataIntegrityViolationException e) {
+            return claimedElsewhere();
+        }
+    }
+
+    /**
+     * The key is held on another instance; the caller checks again after a pause.
+     */
+    private static Claim claimedElsewhere() {
+        var executor = CompletableFuture.delayedExecutor(REMOTE_CLAIM_POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        return new Claim.InFlight(CompletableFuture.supplyAsync(() -> null, executor));
+    }
+
+    /**
+     * Drops the local claim of the key and hands {@code response} to the requests waiting for it.
+     *
+     * @return whether the key was claimed locally
+     */
+    private boolean forget(String key, Response response) {
+        Running current;
+        var lock = stripe(key);
+        lock.lock();
+        try {
+            current = running.remove(key);
+        } finally {
+            lock.unlock();
+        }
+        if (current == null) {
+            return false;
+        }
+        current.response().complete(response);
+        return true;
+    }
+
+    private ReentrantLock stripe(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private static IdempotencyRecord toRecord(String key, String fingerprint, Response response, Instant createdAt, Instant expiresAt) {
+        var record = new IdempotencyRecord();
+        record.setIdempotencyKey(key);
+        record.setFingerprint(fingerprint);
+        record.setStatus(response.status());
+        record.setContentType(response.contentType());
+        record.setLocation(response.location());
+        record.setEtag(response.etag());
+        record.setBody(response.body());
+        record.setCreatedAt(createdAt);
+        record.setExpiresAt(expiresAt);
+        return record;
+    }
+
+    private static Stored fromRecord(IdempotencyRecord record) {
+        var response = new Response(record.getStatus(), record.getContentType(), record.getLocation(), record.getEtag(), record.getBody());
+        return new Stored(record.getFingerprint(), response, record.getExpiresAt());
+    }
+}
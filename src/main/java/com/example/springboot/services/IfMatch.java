@@ -0,0 +1,42 @@
+package com.example.springboot.services;
+
+import com.example.springboot.exceptions.PreconditionFailedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Conditional updates: {@code expectedVersions} holds the If-Match tags sent by the caller, or is
+ * {@code null} when the update is unconditional.
+ */
+final class IfMatch {
+
+    private IfMatch() {
+    }
+
+    static void check(Collection<String> expectedVersions, Supplier<String> currentVersion, String resource) {
+        if (expectedVersions == null) {
+            return;
+        }
+        var version = currentVersion.get();
+        if (!expectedVersions.contains(version)) {
+            throw new PreconditionFailedException(resource + " has been modified, current version is " + version);
+        }
+    }
+
+    /**
+     * Runs the save. A write that lands between {@link #check} and the save is caught by the
+     * {@code @Version} column; for a conditional update that also means the precondition failed.
+     */
+    static <E> E save(Collection<String> expectedVersions, Supplier<E> save, String resource) {
+        try {
+            return save.get();
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersions == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException(resource + " has been modified");
+        }
+    }
+}
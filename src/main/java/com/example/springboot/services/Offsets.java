@@ -0,0 +1,17 @@
+package com.example.springboot.services;
+
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Page numbers as scroll positions. An offset position points at the last row already seen, so the
+ * first page starts from the initial position rather than from offset 0.
+ */
+final class Offsets {
+
+    private Offsets() {
+    }
+
+    static ScrollPosition ofPage(int page, int size) {
+        return page == 0 ? ScrollPosition.offset() : ScrollPosition.offset((long) page * size - 1);
+    }
+}
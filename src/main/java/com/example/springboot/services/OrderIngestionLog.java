@@ -0,0 +1,273 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.PendingOrder;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only, newline-delimited JSON log of orders accepted for ingestion. An order is forced to
+ * disk before its 202 is sent and is marked once written to the database, so after a crash
+ * {@link #recover()} returns exactly the accepted orders that still have to be written. Once the log
+ * outgrows {@code compactionSize}, and twice its size after the last compaction, it is rewritten
+ * with only those orders, so it stays bounded however long the writer is never idle.
+ * <p>
+ * Entries are written by a single flusher thread with group commit: it takes every entry queued
+ * while the previous force ran, writes them and forces the file once, then releases their callers.
+ * Intake is therefore not capped at one fsync per order, and callers never wait on a lock held
+ * across a force.
+ */
+public class OrderIngestionLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIngestionLog.class);
+    private static final String FILE_NAME = "orders.log";
+    private static final String COMPACTED_FILE_NAME = "orders.log.compacted";
+
+    private final Path directory;
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final long compactionSize;
+    private final Map<UUID, PendingOrder> unwritten = new LinkedHashMap<>();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    // appends enqueue under the read lock, so none can follow the entry queued by close()
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final Thread flusher;
+    private boolean closed;
+    // only used by the flusher once it has started
+    private FileChannel channel;
+    private long compactAbove;
+
+    public OrderIngestionLog(Path directory, ObjectMapper objectMapper, long compactionSize) {
+        this.directory = directory;
+        this.file = directory.resolve(FILE_NAME);
+        this.objectMapper = objectMapper;
+        this.compactionSize = compactionSize;
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(file)) {
+                read();
+            }
+            this.channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+            compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order ingestion log " + file, e);
+        }
+        this.flusher = Thread.ofPlatform().name("order-ingestion-log").daemon().start(this::flush);
+    }
+
+    /**
+     * Returns once the order is on disk.
+     */
+    public void append(PendingOrder order) {
+        var pending = enqueue(new Entry(order, null));
+        try {
+            pending.forced().join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Returns at once: a mark lost in a crash only makes the order replayed, and the replay skips
+     * orders that already exist.
+     */
+    public void markWritten(Collection<UUID> orderIds) {
+        synchronized (unwritten) {
+            orderIds.forEach(unwritten::remove);
+        }
+        enqueue(new Entry(null, List.copyOf(orderIds)));
+    }
+
+    /**
+     * The accepted orders not yet marked as written, in acceptance order.
+     */
+    public List<PendingOrder> recover() {
+        synchronized (unwritten) {
+            return new ArrayList<>(unwritten.values());
+        }
+    }
+
+    /**
+     * Writes the entries queued so far, then closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(Pending.CLOSE);
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private Pending enqueue(Entry entry) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Order ingestion log " + file + " is closed");
+            }
+            var pending = new Pending(entry, new CompletableFuture<>());
+            queue.add(pending);
+            return pending;
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void flush() {
+        var batch = new ArrayList<Pending>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // only close() stops the flusher
+                continue;
+            }
+            queue.drainTo(batch);
+            var closing = batch.remove(Pending.CLOSE);
+            write(batch);
+            batch.clear();
+            if (closing) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the batch and forces it once, unless it only marks orders as written. The orders
+     * become recoverable, and so part of a compaction, only once forced.
+     */
+    private void write(List<Pending> batch) {
+        try {
+            for (var pending : batch) {
+                writeLine(channel, pending.entry());
+            }
+            if (batch.stream().anyMatch(pending -> pending.entry().accepted() != null)) {
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            var failure = e instanceof RuntimeException runtime ? runtime
+                    : new UncheckedIOException("Cannot append to order ingestion log " + file, (IOException) e);
+            batch.forEach(pending -> pending.forced().completeExceptionally(failure));
+            return;
+        }
+        synchronized (unwritten) {
+            for (var pending : batch) {
+                var accepted = pending.entry().accepted();
+                if (accepted != null) {
+                    unwritten.put(accepted.orderId(), accepted);
+                }
+            }
+        }
+        batch.forEach(pending -> pending.forced().complete(null));
+        try {
+            if (channel.size() > compactAbove) {
+                compact();
+            }
+        } catch (IOException e) {
+            log.error("Cannot compact order ingestion log {}", file, e);
+        }
+    }
+
+    /**
+     * A line torn by a crash mid-append can only be the last one and was never acknowledged, so it
+     * is skipped.
+     */
+    private void read() throws IOException {
+        try (var lines = Files.lines(file)) {
+            lines.filter(line -> !line.isBlank()).forEach(line -> {
+                try {
+                    var entry = objectMapper.readValue(line, Entry.class);
+                    if (entry.accepted() != null) {
+                        unwritten.put(entry.accepted().orderId(), entry.accepted());
+                    }
+                    if (entry.written() != null) {
+                        entry.written().forEach(unwritten::remove);
+                    }
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable order ingestion log entry: {}", line);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the unwritten orders to a new file and moves it over the log, so a crash leaves either
+     * the old log or the compacted one.
+     */
+    private void compact() throws IOException {
+        var compacted = directory.resolve(COMPACTED_FILE_NAME);
+        try (var out = FileChannel.open(compacted, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            for (var order : recover()) {
+                writeLine(out, new Entry(order, null));
+            }
+            out.force(true);
+        }
+        channel.close();
+        try {
+            Files.move(compacted, file, ATOMIC_MOVE, REPLACE_EXISTING);
+            try (var parent = FileChannel.open(directory, READ)) {
+                parent.force(true);
+            }
+        } finally {
+            channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+        }
+        compactAbove = Math.max(compactionSize, 2 * channel.size());
+    }
+
+    private void writeLine(FileChannel target, Entry entry) throws IOException {
+        var line = objectMapper.writeValueAsBytes(entry);
+        var buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Entry(PendingOrder accepted, List<UUID> written) {
+    }
+
+    /**
+     * An entry waiting for the flusher, completed once it is on disk.
+     */
+    private record Pending(Entry entry, CompletableFuture<Void> forced) {
+        static final Pending CLOSE = new Pending(null, new CompletableFuture<>());
+    }
+}
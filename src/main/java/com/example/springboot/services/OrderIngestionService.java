@@ -0,0 +1,382 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.OrderIngestionProperties;
+import com.example.springboot.dtos.OrderRecordDto;
+import com.example.springboot.dtos.OrderStatusDto;
+import com.example.springboot.dtos.PendingOrder;
+import com.example.springboot.exceptions.ResourceNotFoundException;
+import com.example.springboot.exceptions.TooManyRequestsException;
+import com.example.springboot.models.ChangeEvent;
+import com.example.springboot.models.Order;
+import com.example.springboot.models.TimeOrderedUuidGenerator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Asynchronous order ingestion. {@link #submit} checks the client and products (served from the
+ * caches), logs the order durably, queues it and returns; a single writer thread drains the queue and
+ * persists orders in batches, one transaction per batch, so Hibernate sends them as JDBC batches. A
+ * failed batch is retried order by order so the orders batched with a bad one are still written. An
+ * order the database refuses is marked as failed; one that keeps failing for another reason is marked
+ * as failed after {@code api.orders.ingestion.max-attempts} tries. While the database cannot be
+ * reached, orders stay queued and are retried after a pause, without counting tries.
+ */
+public class OrderIngestionService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIngestionService.class);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final OrderService orderService;
+    private final ClientService clientService;
+    private final ProductService productService;
+    private final OrderSummaryService orderSummaryService;
+    private final ChangeEventService changeEventService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderIngestionLog ingestionLog;
+    private final OrderIngestionProperties properties;
+
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    // written by the writer thread only
+    private final Map<UUID, Integer> attempts = new HashMap<>();
+    private final Cache<UUID, String> failures = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter createdCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    /**
+     * How writing one order ended: created or marked as failed, to be tried again, or not tried
+     * because the database cannot be reached.
+     */
+    private enum Outcome { DONE, RETRY, UNAVAILABLE }
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIngestionService(OrderService orderService, ClientService clientService, ProductService productService,
+                                 OrderSummaryService orderSummaryService, ChangeEventService changeEventService, EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                 OrderIngestionLog ingestionLog, OrderIngestionProperties properties, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.clientService = clientService;
+        this.productService = productService;
+        this.orderSummaryService = orderSummaryService;
+        this.changeEventService = changeEventService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ingestionLog = ingestionLog;
+        this.properties = properties;
+        this.acceptedCounter = Counter.builder("orders.ingestion.accepted").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("orders.ingestion.rejected")
+                .description("Orders refused with 429 because the queue was full")
+                .register(meterRegistry);
+        this.createdCounter = Counter.builder("orders.ingestion.written").tag("outcome", "created").register(meterRegistry);
+        this.failedCounter = Counter.builder("orders.ingestion.written").tag("outcome", "failed").register(meterRegistry);
+        this.batchTimer = Timer.builder("orders.ingestion.batch").publishPercentileHistogram().register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("orders.ingestion.batch.size").baseUnit("orders").register(meterRegistry);
+        Gauge.builder("orders.ingestion.pending", pending, AtomicInteger::get)
+                .description("Orders accepted but not yet written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accepts an order for ingestion and returns its assigned id.
+     *
+     * @throws ResourceNotFoundException if the client or a product does not exist
+     * @throws TooManyRequestsException  if {@code api.orders.ingestion.queue-capacity} orders are already pending
+     */
+    public OrderStatusDto submit(OrderRecordDto orderRecordDto) {
+        clientService.getClientById(orderRecordDto.clientId());
+        var quantities = orderRecordDto.quantities();
+        productService.getProductsByIds(quantities.keySet());
+
+        if (pending.incrementAndGet() > properties.queueCapacity()) {
+            pending.decrementAndGet();
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Order ingestion queue is full, retry later.", RETRY_AFTER);
+        }
+        var order = new PendingOrder(TimeOrderedUuidGenerator.next(), orderRecordDto.clientId(),
+                quantities, LocalDateTime.now());
+        inFlight.add(order.orderId());
+        try {
+            ingestionLog.append(order);
+        } catch (RuntimeException e) {
+            inFlight.remove(order.orderId());
+            pending.decrementAndGet();
+            throw e;
+        }
+        queue.add(order);
+        acceptedCounter.increment();
+        return OrderStatusDto.queued(order.orderId());
+    }
+
+    public OrderStatusDto getStatus(UUID orderId) {
+        if (inFlight.contains(orderId)) {
+            return OrderStatusDto.queued(orderId);
+        }
+        var failure = failures.getIfPresent(orderId);
+        if (failure != null) {
+            return OrderStatusDto.failed(orderId, failure);
+        }
+        return orderService.getOrderStatus(orderId);
+    }
+
+    @Override
+    public synchronized void start() {
+        var recovered = ingestionLog.recover();
+        var alreadyWritten = recovered.stream()
+                .map(PendingOrder::orderId)
+                .filter(orderService::orderExists)
+                .collect(Collectors.toSet());
+        if (!alreadyWritten.isEmpty()) {
+            ingestionLog.markWritten(alreadyWritten);
+            recovered.removeIf(order -> alreadyWritten.contains(order.orderId()));
+        }
+        if (!recovered.isEmpty()) {
+            log.info("Replaying {} orders accepted before the last shutdown", recovered.size());
+        }
+        recovered.forEach(order -> inFlight.add(order.orderId()));
+        pending.addAndGet(recovered.size());
+        queue.addAll(recovered);
+
+        running = true;
+        writer = Thread.ofPlatform().name("order-ingestion-writer").start(this::drain);
+    }
+
+    /**
+     * Lets the writer finish the orders already queued. Orders still pending when the timeout
+     * expires stay in the log and are replayed on the next start.
+     */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        var batch = new ArrayList<PendingOrder>(properties.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                var retry = write(batch);
+                if (!retry.isEmpty()) {
+                    queue.addAll(retry);
+                    if (!running) {
+                        // left in the log and replayed on the next start
+                        return;
+                    }
+                    Thread.sleep(RETRY_AFTER.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order ingestion batch of {} orders was not recorded and will be replayed on restart", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Tops up the batch with whatever is queued, waiting at most {@code batch-delay} for more.
+     */
+    private void fill(List<PendingOrder> batch) throws InterruptedException {
+        var deadline = System.nanoTime() + properties.batchDelay().toNanos();
+        while (batch.size() < properties.batchSize()) {
+            queue.drainTo(batch, properties.batchSize() - batch.size());
+            var remaining = deadline - System.nanoTime();
+            if (batch.size() == properties.batchSize() || remaining <= 0) {
+                return;
+            }
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * @return the orders to write again after a pause
+     */
+    private List<PendingOrder> write(List<PendingOrder> batch) {
+        var sample = Timer.start();
+        var finished = new ArrayList<PendingOrder>(batch.size());
+        var retry = new ArrayList<PendingOrder>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch));
+            createdCounter.increment(batch.size());
+            finished.addAll(batch);
+        } catch (RuntimeException e) {
+            if (isUnavailable(e)) {
+                log.warn("Order ingestion batch of {} orders failed and stays queued: {}", batch.size(),
+                        NestedExceptionUtils.getMostSpecificCause(e).toString());
+                retry.addAll(batch);
+            } else {
+                var unavailable = false;
+                for (var order : batch) {
+                    // once the database is gone, the rest of the batch would only wait for it too
+                    var outcome = unavailable ? Outcome.UNAVAILABLE : writeAlone(order);
+                    unavailable = outcome == Outcome.UNAVAILABLE;
+                    (outcome == Outcome.DONE ? finished : retry).add(order);
+                }
+            }
+        }
+        sample.stop(batchTimer);
+        batchSizeSummary.record(batch.size());
+
+        var orderIds = finished.stream().map(PendingOrder::orderId).toList();
+        try {
+            if (!orderIds.isEmpty()) {
+                ingestionLog.markWritten(orderIds);
+            }
+        } finally {
+            orderIds.forEach(orderId -> {
+                attempts.remove(orderId);
+                inFlight.remove(orderId);
+            });
+            pending.addAndGet(-orderIds.size());
+        }
+        return retry;
+    }
+
+    private Outcome writeAlone(PendingOrder order) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(List.of(order)));
+            createdCounter.increment();
+            return Outcome.DONE;
+        } catch (RuntimeException e) {
+            if (isUnavailable(e)) {
+                return Outcome.UNAVAILABLE;
+            }
+            var tries = attempts.merge(order.orderId(), 1, Integer::sum);
+            if (!isRejected(e) && tries < properties.maxAttempts()) {
+                log.warn("Order {} failed on try {} of {} and stays queued", order.orderId(), tries, properties.maxAttempts(), e);
+                return Outcome.RETRY;
+            }
+            failures.put(order.orderId(), String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            failedCounter.increment();
+            return Outcome.DONE;
+        }
+    }
+
+    /**
+     * Whether the database could not be reached or gave up on the transaction, which says nothing
+     * about the orders: a lost or refused connection, a lock or serialization failure.
+     */
+    private static boolean isUnavailable(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException || cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && (sqlException.getSQLState().startsWith("08") || sqlException.getSQLState().startsWith("40"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the failure lies with the orders themselves: a constraint or data error from the
+     * database, failed validation, or a client or product deleted since the order was accepted.
+     */
+    private static boolean isRejected(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException
+                    || cause instanceof ResourceNotFoundException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && (sqlException.getSQLState().startsWith("22") || sqlException.getSQLState().startsWith("23"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clients and products come from the caches as detached copies, so only the inserts reach the
+     * database. Lines are priced when the order is written.
+     */
+    private void persist(List<PendingOrder> batch) {
+        for (var pendingOrder : batch) {
+            var order = new Order();
+            order.setOrderId(pendingOrder.orderId());
+            order.setClient(clientService.getClientById(pendingOrder.clientId()));
+            order.replaceLines(productService.priceLines(pendingOrder.quantities()));
+            order.setOrderedAt(pendingOrder.orderedAt());
+            entityManager.persist(order);
+            orderSummaryService.orderAdded(order);
+            changeEventService.record(ChangeEvent.Resource.ORDER, order.getOrderId(), ChangeEvent.Action.CREATED, order.getTotal());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -1,73 +1,239 @@
 package com.example.springboot.services;
 
+import com.example.springboot.dtos.BulkDeleteResultDto;
+import com.example.springboot.dtos.CursorPage;
+import com.example.springboot.dtos.OrderFilter;
 import com.example.springboot.dtos.OrderRecordDto;
+import com.example.springboot.dtos.OrderStatusDto;
+import com.example.springboot.dtos.OrderTotal;
+import com.example.springboot.dtos.OrderVersion;
 import com.example.springboot.exceptions.ResourceNotFoundException;
+import com.example.springboot.models.ChangeEvent;
 import com.example.springboot.models.Order;
-import com.example.springboot.models.Product;
 import com.example.springboot.repositories.OrderRepository;
+import com.example.springboot.repositories.OrderSpecifications;
 import com.example.springboot.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
+    private static final int STREAM_CHUNK_SIZE = 100;
+    private static final SortFields SORT_FIELDS = new SortFields(Map.of("id", "orderId", "orderedAt", "orderedAt"), "orderId");
+
     private final OrderRepository orderRepository;
     private final ClientService clientService;
     private final ProductService productService;
+    private final EntityManager entityManager;
+    private final OrderSummaryService orderSummaryService;
+    private final ChangeEventService changeEventService;
 
-    public OrderService(OrderRepository orderRepository, ClientService clientService, ProductService productService, ProductRepository productRepository) {
+    public OrderService(OrderRepository orderRepository, ClientService clientService, ProductService productService, ProductRepository productRepository, EntityManager entityManager, OrderSummaryService orderSummaryService,
+                        ChangeEventService changeEventService) {
         this.orderRepository = orderRepository;
         this.clientService = clientService;
         this.productService = productService;
+        this.entityManager = entityManager;
+        this.orderSummaryService = orderSummaryService;
+        this.changeEventService = changeEventService;
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
 
+    /**
+     * Like {@link #getOrdersPage(UUID, UUID, int)}, but leaves the clients unloaded when
+     * {@code withClient} is false.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Order> getOrdersPage(UUID after, UUID before, int size, boolean withClient) {
+        if (withClient) {
+            return getOrdersPage(after, before, size);
+        }
+        var limit = size + 1;
+        if (before != null) {
+            var rows = orderRepository.findBy(OrderSpecifications.idBefore(before),
+                    query -> query.sortBy(Sort.by(Sort.Direction.DESC, "orderId")).limit(limit).all());
+            return CursorPage.backward(rows, size, Order::getOrderId);
+        }
+        var rows = orderRepository.findBy(OrderSpecifications.idAfter(after),
+                query -> query.sortBy(Sort.by("orderId")).limit(limit).all());
+        return CursorPage.forward(rows, size, after != null, Order::getOrderId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Order> getOrdersPage(UUID after, UUID before, int size) {
+        var limit = Limit.of(size + 1);
+        if (before != null) {
+            return CursorPage.backward(orderRepository.findByOrderIdLessThanOrderByOrderIdDesc(before, limit), size, Order::getOrderId);
+        }
+        var rows = after == null
+                ? orderRepository.findAllByOrderByOrderIdAsc(limit)
+                : orderRepository.findByOrderIdGreaterThanOrderByOrderIdAsc(after, limit);
+        return CursorPage.forward(rows, size, after != null, Order::getOrderId);
+    }
+
+    /**
+     * One page of the orders matching {@code filter}, in the order given by {@code sort}, with their
+     * clients fetched in the same query. Only indexed fields can be sorted by.
+     */
+    @Transactional(readOnly = true)
+    public Window<Order> searchOrders(OrderFilter filter, String sort, int page, int size) {
+        return searchOrders(filter, sort, page, size, true);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<Order> searchOrders(OrderFilter filter, String sort, int page, int size, boolean withClient) {
+        var order = SORT_FIELDS.parse(sort);
+        var specification = OrderSpecifications.matching(filter);
+        return orderRepository.findBy(withClient ? specification.and(OrderSpecifications.withClient()) : specification,
+                query -> query.sortBy(order).limit(size).scroll(Offsets.ofPage(page, size)));
+    }
+
+    /**
+     * Hands every order to {@code consumer} while scrolling over the table. Orders are consumed in
+     * chunks so their products are batch-fetched together, and the persistence context is cleared
+     * after each chunk so memory stays flat regardless of the number of rows.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<Order> consumer) {
+        try (Stream<Order> orders = orderRepository.streamAll()) {
+            var chunk = new ArrayList<Order>(STREAM_CHUNK_SIZE);
+            for (var iterator = orders.iterator(); iterator.hasNext(); ) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    consumeChunk(chunk, consumer);
+                }
+            }
+            consumeChunk(chunk, consumer);
+        }
+    }
+
+    private void consumeChunk(List<Order> chunk, Consumer<Order> consumer) {
+        chunk.forEach(consumer);
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    @Transactional(readOnly = true)
     public Order getOrderById(UUID id) {
         return orderRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
     }
 
+    @Transactional
     public Order save(OrderRecordDto orderRecordDto) {
         var client = clientService.getClientById(orderRecordDto.clientId());
-        var productList = new HashSet<Product>();
-        for (UUID productId : orderRecordDto.productIds()) {
-            var product = productService.getProductById(productId);
-            productList.add(product);
-        }
+        var lines = productService.priceLines(orderRecordDto.quantities());
 
         var order = new Order();
         order.setClient(client);
-        order.setProducts(new HashSet<>(productList));
+        order.replaceLines(lines);
         order.setOrderedAt(LocalDateTime.now());
 
-        return orderRepository.save(order);
+        var saved = orderRepository.save(order);
+        orderSummaryService.orderAdded(saved);
+        changeEventService.record(ChangeEvent.Resource.ORDER, saved.getOrderId(), ChangeEvent.Action.CREATED, saved.getTotal());
+        return saved;
     }
 
+    @Transactional(readOnly = true)
+    public boolean orderExists(UUID id) {
+        return orderRepository.existsById(id);
+    }
+
+    /**
+     * Status of an order created synchronously: it either exists or it does not.
+     */
+    @Transactional(readOnly = true)
+    public OrderStatusDto getOrderStatus(UUID id) {
+        if (!orderExists(id)) {
+            throw new ResourceNotFoundException("Order not found: " + id);
+        }
+        return OrderStatusDto.created(id);
+    }
+
+    /**
+     * The version of the order as rendered, read with a single aggregate query instead of loading
+     * the order with its client and products.
+     */
+    @Transactional(readOnly = true)
+    public OrderVersion getOrderVersion(UUID id) {
+        return orderRepository.findVersionById(id).orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
+    }
+
+    @Transactional
     public Order updateOrder(UUID id, OrderRecordDto orderRecordDto) {
+        return updateOrder(id, orderRecordDto, null);
+    }
+
+    /**
+     * The order is flushed inside the transaction so a concurrent write still surfaces through
+     * {@link IfMatch#save} rather than at commit.
+     *
+     * @param expectedVersions {@link OrderVersion#tag() versions} the stored order must still have, or {@code null} to update unconditionally
+     */
+    @Transactional
+    public Order updateOrder(UUID id, OrderRecordDto orderRecordDto, Collection<String> expectedVersions) {
         var order = getOrderById(id);
+        IfMatch.check(expectedVersions, () -> OrderVersion.of(order).tag(), "Order " + id);
         var client = clientService.getClientById(orderRecordDto.clientId());
+        var lines = productService.priceLines(orderRecordDto.quantities());
 
-        var productList = new HashSet<Product>();
-        for (UUID productId : orderRecordDto.productIds()) {
-            var product = productService.getProductById(productId);
-            productList.add(product);
-        }
-
+        orderSummaryService.orderRemoved(order);
         order.setClient(client);
-        order.setProducts(new HashSet<>(productList));
+        order.replaceLines(lines);
         order.setOrderedAt(LocalDateTime.now());
 
-        return orderRepository.save(order);
+        var saved = IfMatch.save(expectedVersions, () -> orderRepository.saveAndFlush(order), "Order " + id);
+        orderSummaryService.orderAdded(saved);
+        changeEventService.record(ChangeEvent.Resource.ORDER, id, ChangeEvent.Action.UPDATED, saved.getTotal());
+        return saved;
     }
 
+    @Transactional
     public void deleteOrder(UUID id) {
-        var order = getOrderById(id);
-        orderRepository.delete(order);
+        if (deleteOrders(List.of(id)).deleted().isEmpty()) {
+            throw new ResourceNotFoundException("Order not found: " + id);
+        }
+    }
+
+    /**
+     * Deletes the orders among {@code ids} with their lines, reading only what the daily summary
+     * needs instead of the orders themselves.
+     */
+    @Transactional
+    public BulkDeleteResultDto deleteOrders(Collection<UUID> ids) {
+        var requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty() || orderRepository.lockForDelete(requested) == 0) {
+            return new BulkDeleteResultDto(requested.size(), List.of(), List.copyOf(requested), List.of());
+        }
+        var orders = orderRepository.findTotalsByIds(requested);
+        var found = orders.stream().map(OrderTotal::orderId).collect(Collectors.toSet());
+        orderRepository.deleteLinesByOrderIds(found);
+        orderRepository.deleteByIds(found);
+        for (var order : orders) {
+            orderSummaryService.orderRemoved(order);
+            changeEventService.record(ChangeEvent.Resource.ORDER, order.orderId(), ChangeEvent.Action.DELETED, null);
+        }
+        var deleted = requested.stream().filter(found::contains).toList();
+        var notFound = requested.stream().filter(id -> !found.contains(id)).toList();
+        return new BulkDeleteResultDto(requested.size(), deleted, notFound, List.of());
     }
 }
@@ -0,0 +1,67 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.ReportProperties;
+import com.example.springboot.dtos.OrderTotal;
+import com.example.springboot.models.DailyOrderSummary;
+import com.example.springboot.models.Order;
+import com.example.springboot.repositories.DailyOrderSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps {@link DailyOrderSummary} in step with the orders. Callers report every order write from
+ * within the transaction making it, so the summary commits or rolls back with the order; the upsert
+ * holds the day's row until then, so concurrent order writes for one day queue behind each other.
+ * Does nothing unless {@code api.reports.summary-table} is enabled.
+ */
+@Service
+public class OrderSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSummaryService.class);
+
+    private final DailyOrderSummaryRepository summaryRepository;
+    private final boolean enabled;
+
+    public OrderSummaryService(DailyOrderSummaryRepository summaryRepository, ReportProperties properties) {
+        this.summaryRepository = summaryRepository;
+        this.enabled = properties.summaryTable();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void orderAdded(Order order) {
+        apply(order.getOrderedAt(), order.getTotal(), 1);
+    }
+
+    public void orderRemoved(Order order) {
+        apply(order.getOrderedAt(), order.getTotal(), -1);
+    }
+
+    public void orderRemoved(OrderTotal order) {
+        apply(order.orderedAt(), order.total(), -1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (enabled && summaryRepository.count() == 0) {
+            log.info("Filled the daily order summary for {} days", summaryRepository.rebuild());
+        }
+    }
+
+    private void apply(LocalDateTime orderedAt, BigDecimal revenue, int sign) {
+        if (!enabled) {
+            return;
+        }
+        summaryRepository.add(orderedAt.toLocalDate(), sign, sign < 0 ? revenue.negate() : revenue);
+    }
+}
@@ -1,52 +1,180 @@
 package com.example.springboot.services;
 
+import com.example.springboot.dtos.BulkDeleteResultDto;
+import com.example.springboot.dtos.BulkResultDto;
+import com.example.springboot.dtos.CursorPage;
+import com.example.springboot.dtos.ProductFilter;
 import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.dtos.ProductSnapshot;
 import com.example.springboot.exceptions.DatabaseConstraintViolationException;
 import com.example.springboot.exceptions.ResourceNotFoundException;
+import com.example.springboot.models.ChangeEvent;
+import com.example.springboot.models.OrderLine;
 import com.example.springboot.models.Product;
 import com.example.springboot.repositories.ProductRepository;
-import org.springframework.beans.BeanUtils;
-import org.springframework.dao.DataIntegrityViolationException;
+import com.example.springboot.repositories.ProductSpecifications;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
+    private static final String PRODUCT_IN_USE = "Cannot delete product because there are orders associated with it.";
+    private static final SortFields SORT_FIELDS = new SortFields(Map.of("id", "productId", "name", "name", "value", "value"), "productId");
 
     private final ProductRepository productRepository;
+    private final BulkImporter bulkImporter;
+    private final EntityCache<ProductSnapshot> productCache;
+    private final ChangeEventService changeEventService;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, BulkImporter bulkImporter, EntityCache<ProductSnapshot> productCache,
+                         ChangeEventService changeEventService) {
         this.productRepository = productRepository;
+        this.bulkImporter = bulkImporter;
+        this.productCache = productCache;
+        this.changeEventService = changeEventService;
     }
 
+    @Transactional
     public Product save(ProductRecordDto productRecordDto) {
-        var product = new Product();
-        BeanUtils.copyProperties(productRecordDto, product);
-        return productRepository.save(product);
+        var saved = productRepository.save(productRecordDto.toEntity());
+        changeEventService.record(ChangeEvent.Resource.PRODUCT, saved.getProductId(), ChangeEvent.Action.CREATED, saved.getValue());
+        return saved;
     }
 
+    public BulkResultDto saveAll(Iterator<ProductRecordDto> productRecordDtos) {
+        return bulkImporter.importAll(productRecordDtos, ProductRecordDto::toEntity, productRepository, Product::getProductId);
+    }
+
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Product> getProductsPage(UUID after, UUID before, int size) {
+        var limit = Limit.of(size + 1);
+        if (before != null) {
+            return CursorPage.backward(productRepository.findByProductIdLessThanOrderByProductIdDesc(before, limit), size, Product::getProductId);
+        }
+        var rows = after == null
+                ? productRepository.findAllByOrderByProductIdAsc(limit)
+                : productRepository.findByProductIdGreaterThanOrderByProductIdAsc(after, limit);
+        return CursorPage.forward(rows, size, after != null, Product::getProductId);
+    }
+
+    /**
+     * One page of the products matching {@code filter}, in the order given by {@code sort}. Only
+     * indexed fields can be sorted by.
+     */
+    @Transactional(readOnly = true)
+    public Window<Product> searchProducts(ProductFilter filter, String sort, int page, int size) {
+        var order = SORT_FIELDS.parse(sort);
+        return productRepository.findBy(ProductSpecifications.matching(filter),
+                query -> query.sortBy(order).limit(size).scroll(Offsets.ofPage(page, size)));
+    }
+
+    /**
+     * Served from the product cache; the returned entity is a detached copy of the cached snapshot.
+     * Not read-only, so misses are loaded from the primary: a row read from a lagging replica would
+     * stay cached for the whole time to live, and order lines capture their prices from this cache.
+     */
+    @Transactional
     public Product getProductById(UUID id) {
-        return productRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Product not found: " + id));
+        return productCache.get(id, key -> ProductSnapshot.of(findProduct(key))).toEntity();
+    }
+
+    /**
+     * Resolves every id from the product cache, loading all misses from the primary with a single
+     * query. The returned entities are detached copies.
+     */
+    @Transactional
+    public Set<Product> getProductsByIds(Collection<UUID> ids) {
+        var missingIds = new LinkedHashSet<>(ids);
+        var snapshots = productCache.getAll(missingIds, this::loadSnapshots);
+        missingIds.removeAll(snapshots.keySet());
+        if (!missingIds.isEmpty()) {
+            throw new ResourceNotFoundException("Products not found: " + missingIds);
+        }
+        var products = new HashSet<Product>();
+        snapshots.values().forEach(snapshot -> products.add(snapshot.toEntity()));
+        return products;
     }
 
+    @Transactional
     public Product updateProduct(UUID id,  ProductRecordDto productRecordDto) {
-        var product = getProductById(id);
-        BeanUtils.copyProperties(productRecordDto, product);
-        return productRepository.save(product);
+        return updateProduct(id, productRecordDto, null);
+    }
+
+    /**
+     * @param expectedVersions versions the stored product must still have, or {@code null} to update unconditionally
+     */
+    @Transactional
+    public Product updateProduct(UUID id, ProductRecordDto productRecordDto, Collection<String> expectedVersions) {
+        var product = findProduct(id);
+        IfMatch.check(expectedVersions, () -> String.valueOf(product.getVersion()), "Product " + id);
+        var updatedProduct = IfMatch.save(expectedVersions, () -> productRepository.saveAndFlush(productRecordDto.applyTo(product)), "Product " + id);
+        productCache.evict(id);
+        changeEventService.record(ChangeEvent.Resource.PRODUCT, id, ChangeEvent.Action.UPDATED, updatedProduct.getValue());
+        return updatedProduct;
     }
 
+    @Transactional
     public void deleteProduct(UUID id) {
-        try {
-            var product = getProductById(id);
-            productRepository.delete(product);
-        } catch (DataIntegrityViolationException e) {
-            throw new DatabaseConstraintViolationException("Cannot delete product because there are orders associated with it.");
+        var result = deleteProducts(List.of(id));
+        if (!result.notFound().isEmpty()) {
+            throw new ResourceNotFoundException("Product not found: " + id);
+        }
+        if (!result.inUse().isEmpty()) {
+            throw new DatabaseConstraintViolationException(PRODUCT_IN_USE);
+        }
+    }
+
+    /**
+     * Deletes the products no order line refers to among {@code ids}; the others are reported, not deleted.
+     */
+    @Transactional
+    public BulkDeleteResultDto deleteProducts(Collection<UUID> ids) {
+        var result = BulkDeletes.delete(ids, productRepository::findDeleteCandidates, productRepository::deleteByIds, PRODUCT_IN_USE);
+        for (var id : result.deleted()) {
+            productCache.evict(id);
+            changeEventService.record(ChangeEvent.Resource.PRODUCT, id, ChangeEvent.Action.DELETED, null);
         }
+        return result;
+    }
+
+    private Product findProduct(UUID id) {
+        return productRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Product not found: " + id));
+    }
+
+    /**
+     * Order lines for the given quantities, each capturing its product's current name and value.
+     *
+     * @throws ResourceNotFoundException if a product does not exist
+     */
+    public List<OrderLine> priceLines(Map<UUID, Integer> quantities) {
+        var products = getProductsByIds(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        return quantities.entrySet().stream()
+                .map(entry -> OrderLine.of(products.get(entry.getKey()), entry.getValue()))
+                .toList();
+    }
+
+    private Map<UUID, ProductSnapshot> loadSnapshots(Collection<UUID> ids) {
+        return productRepository.findAllById(ids).stream()
+                .map(ProductSnapshot::of)
+                .collect(Collectors.toMap(ProductSnapshot::productId, Function.identity()));
     }
 }
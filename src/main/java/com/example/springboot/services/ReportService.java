@@ -0,0 +1,58 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.ClientRevenueDto;
+import com.example.springboot.dtos.DailyRevenueDto;
+import com.example.springboot.dtos.OrderCountDto;
+import com.example.springboot.dtos.ProductRevenueDto;
+import com.example.springboot.repositories.DailyOrderSummaryRepository;
+import com.example.springboot.repositories.OrderRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revenue and order reports over half-open windows {@code [from, to)} of {@code orderedAt}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReportService {
+    private final OrderRepository orderRepository;
+    private final DailyOrderSummaryRepository summaryRepository;
+    private final OrderSummaryService orderSummaryService;
+
+    public ReportService(OrderRepository orderRepository, DailyOrderSummaryRepository summaryRepository, OrderSummaryService orderSummaryService) {
+        this.orderRepository = orderRepository;
+        this.summaryRepository = summaryRepository;
+        this.orderSummaryService = orderSummaryService;
+    }
+
+    public List<ClientRevenueDto> getRevenueByClient(LocalDateTime from, LocalDateTime to, int limit) {
+        return orderRepository.sumRevenueByClient(from, to, Limit.of(limit));
+    }
+
+    public List<ProductRevenueDto> getRevenueByProduct(LocalDateTime from, LocalDateTime to, int limit) {
+        return orderRepository.sumRevenueByProduct(from, to, Limit.of(limit));
+    }
+
+    /**
+     * Days from {@code from} to {@code to}, both inclusive. Read from the summary table when it is
+     * maintained, otherwise aggregated from the orders.
+     */
+    public List<DailyRevenueDto> getRevenueByDay(LocalDate from, LocalDate to) {
+        if (orderSummaryService.isEnabled()) {
+            return summaryRepository.findByDayBetweenOrderByDayAsc(from, to).stream()
+                    .filter(summary -> summary.getOrderCount() > 0)
+                    .map(DailyRevenueDto::of)
+                    .toList();
+        }
+        return orderRepository.sumRevenueByDay(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    public OrderCountDto getOrderCount(LocalDateTime from, LocalDateTime to) {
+        return new OrderCountDto(from, to, orderRepository.countOrderedBetween(from, to));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.springboot.services;
+
+import com.example.springboot.exceptions.InvalidRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+/**
+ * Parses a {@code field[,asc|desc]} sort parameter against the fields a resource has an index for.
+ * Any other field is rejected rather than sorted by, since ordering on an unindexed column makes the
+ * database read and sort every matching row before the page can be cut. The id is always appended as
+ * a tie-breaker so pages are stable.
+ */
+final class SortFields {
+
+    private final Map<String, String> indexedProperties;
+    private final String idProperty;
+
+    /**
+     * @param indexedProperties request field name to entity property, for every indexed property
+     */
+    SortFields(Map<String, String> indexedProperties, String idProperty) {
+        this.indexedProperties = indexedProperties;
+        this.idProperty = idProperty;
+    }
+
+    Sort parse(String sort) {
+        var idOrder = Sort.Order.asc(idProperty);
+        if (sort == null || sort.isBlank()) {
+            return Sort.by(idOrder);
+        }
+        var parts = sort.split(",", -1);
+        var property = indexedProperties.get(parts[0].trim());
+        if (property == null || parts.length > 2) {
+            throw new InvalidRequestException("Cannot sort by '" + sort + "', sortable fields are " + indexedProperties.keySet().stream().sorted().toList());
+        }
+        var direction = parts.length == 1 ? Sort.Direction.ASC : Sort.Direction.fromOptionalString(parts[1].trim())
+                .orElseThrow(() -> new InvalidRequestException("Invalid sort direction in '" + sort + "', use asc or desc"));
+        var order = new Sort.Order(direction, property);
+        return property.equals(idProperty) ? Sort.by(order) : Sort.by(order, idOrder);
+    }
+}
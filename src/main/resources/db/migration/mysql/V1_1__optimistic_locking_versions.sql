@@ -0,0 +1,5 @@
+-- Version columns for optimistic locking and ETags; existing rows start at version 0.
+
+alter table clients add column version bigint default 0 not null;
+alter table products add column version bigint default 0 not null;
+alter table orders add column version bigint default 0 not null;
@@ -0,0 +1,11 @@
+-- Per-day order counts and revenue for the reports, filled from the orders at startup while empty,
+-- and the index on ordered_at that serves the report windows.
+
+create table daily_order_summary (
+    summary_day date not null,
+    order_count bigint not null,
+    revenue decimal(38,2) not null,
+    primary key (summary_day)
+) engine=InnoDB;
+
+create index idx_orders_ordered_at on orders (ordered_at);
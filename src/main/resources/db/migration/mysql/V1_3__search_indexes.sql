@@ -0,0 +1,5 @@
+-- Indexes behind the product and order search filters.
+
+create index idx_products_name on products (name);
+create index idx_products_value on products (value);
+create index idx_orders_client_id_ordered_at on orders (client_id, ordered_at);
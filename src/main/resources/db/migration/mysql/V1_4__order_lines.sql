@@ -0,0 +1,22 @@
+-- Order lines with the product name and unit price captured when the order is written, and the
+-- stored order total. Existing orders are moved over from order_products by V2.
+
+create table order_lines (
+    order_line_id binary(16) not null,
+    order_id binary(16) not null,
+    product_id binary(16) not null,
+    product_name varchar(255),
+    quantity integer not null,
+    unit_price decimal(38,2) not null,
+    primary key (order_line_id)
+) engine=InnoDB;
+
+alter table orders add column total decimal(38,2) default 0 not null;
+
+create index idx_order_lines_order_id on order_lines (order_id);
+create index idx_order_lines_product_id on order_lines (product_id);
+
+alter table order_lines
+    add constraint FK1smc0s578t2oih21yn9hw6usr foreign key (order_id) references orders (order_id);
+alter table order_lines
+    add constraint FK5v1oeejtgtf2n3toppm3tkuhh foreign key (product_id) references products (product_id);
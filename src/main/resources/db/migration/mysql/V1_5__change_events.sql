@@ -0,0 +1,13 @@
+-- Outbox of order and product changes behind the change event feed.
+
+create table change_events (
+    sequence bigint not null auto_increment,
+    resource enum ('ORDER','PRODUCT') not null,
+    resource_id binary(16) not null,
+    action enum ('CREATED','DELETED','UPDATED') not null,
+    value decimal(38,2),
+    occurred_at datetime(6) not null,
+    primary key (sequence)
+) engine=InnoDB;
+
+create index idx_change_events_occurred_at on change_events (occurred_at);
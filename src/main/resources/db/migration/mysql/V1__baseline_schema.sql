@@ -0,0 +1,38 @@
+-- Schema as previously derived by spring.jpa.hibernate.ddl-auto=update from the original entities;
+-- databases created that way are baselined at this version (spring.flyway.baseline-on-migrate) and
+-- brought forward by the migrations that follow.
+
+create table clients (
+    client_id binary(16) not null,
+    email varchar(255),
+    login varchar(255),
+    name varchar(255),
+    primary key (client_id)
+) engine=InnoDB;
+
+create table order_products (
+    order_id binary(16) not null,
+    product_id binary(16) not null,
+    primary key (order_id, product_id)
+) engine=InnoDB;
+
+create table orders (
+    ordered_at datetime(6),
+    client_id binary(16) not null,
+    order_id binary(16) not null,
+    primary key (order_id)
+) engine=InnoDB;
+
+create table products (
+    value decimal(38,2),
+    product_id binary(16) not null,
+    name varchar(255),
+    primary key (product_id)
+) engine=InnoDB;
+
+alter table order_products
+    add constraint FKdxjduvg7991r4qja26fsckxv8 foreign key (product_id) references products (product_id);
+alter table order_products
+    add constraint FKawxpt1ns1sr7al76nvjkv21of foreign key (order_id) references orders (order_id);
+alter table orders
+    add constraint FKm2dep9derpoaehshbkkatam3v foreign key (client_id) references clients (client_id);
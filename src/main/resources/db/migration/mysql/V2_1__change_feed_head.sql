@@ -0,0 +1,13 @@
+-- Change event sequences are handed out from change_feed_head as the writing transaction commits,
+-- instead of by auto_increment at insert, so they become visible in sequence order.
+
+alter table change_events modify sequence bigint not null;
+
+create table change_feed_head (
+    id integer not null,
+    last_sequence bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into change_feed_head (id, last_sequence)
+select 1, coalesce(max(sequence), 0) from change_events;
@@ -0,0 +1,12 @@
+-- Change event sequences come from a sequence table again, advanced by Hibernate in a transaction of
+-- its own as each transaction inserts its events, instead of from the change_feed_head row, whose
+-- lock serialized every committing writer. MySQL has no sequences; this is the table Hibernate uses instead.
+
+create table change_events_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into change_events_seq (next_val)
+select coalesce(max(sequence), 0) + 1 from change_events;
+
+drop table change_feed_head;
@@ -0,0 +1,13 @@
+-- Outbox of order and product changes behind the change event feed.
+
+create table change_events (
+    sequence bigint generated by default as identity,
+    resource varchar(16) not null check (resource in ('ORDER','PRODUCT')),
+    resource_id uuid not null,
+    action varchar(16) not null check (action in ('CREATED','UPDATED','DELETED')),
+    value numeric(38,2),
+    occurred_at timestamp(6) with time zone not null,
+    primary key (sequence)
+);
+
+create index idx_change_events_occurred_at on change_events (occurred_at);
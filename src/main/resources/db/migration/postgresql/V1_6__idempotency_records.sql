@@ -0,0 +1,16 @@
+-- Stored responses of requests sent with an Idempotency-Key.
+
+create table idempotency_records (
+    idempotency_key varchar(512) not null,
+    fingerprint varchar(64) not null,
+    status integer not null,
+    content_type varchar(255),
+    location varchar(2048),
+    etag varchar(255),
+    body bytea not null,
+    created_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    primary key (idempotency_key)
+);
+
+create index idx_idempotency_records_expires_at on idempotency_records (expires_at);
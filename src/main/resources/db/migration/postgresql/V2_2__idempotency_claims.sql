@@ -0,0 +1,5 @@
+-- A key is claimed by inserting its row when the request starts; status and body stay null until
+-- the response is stored, so other instances see the claim.
+
+alter table idempotency_records alter column status drop not null;
+alter table idempotency_records alter column body drop not null;
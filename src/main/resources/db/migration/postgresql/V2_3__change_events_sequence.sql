@@ -0,0 +1,8 @@
+-- Change event sequences come from a database sequence again, taken as each transaction inserts its
+-- events, instead of from the change_feed_head row, whose lock serialized every committing writer.
+
+create sequence change_events_seq start with 1 increment by 1;
+
+select setval('change_events_seq', coalesce(max(sequence), 0) + 1, false) from change_events;
+
+drop table change_feed_head;
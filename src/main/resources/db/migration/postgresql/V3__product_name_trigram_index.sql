@@ -0,0 +1,5 @@
+-- Substring search (nameContains, LIKE '%x%') cannot use the B-tree idx_products_name. A trigram index serves it, and
+-- also serves prefix search (name, LIKE 'x%'), which the B-tree only does under the C collation.
+create extension if not exists pg_trgm;
+
+create index idx_products_name_trgm on products using gin (name gin_trgm_ops);
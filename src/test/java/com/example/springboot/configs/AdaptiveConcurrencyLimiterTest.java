@@ -0,0 +1,62 @@
+package com.example.springboot.configs;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BACKOFF_INTERVAL = 1_000;
+
+    @Test
+    void tryAcquire_ShouldRefuse_WhenLimitIsReached() {
+        var limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, BACKOFF_INTERVAL);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(false, System.nanoTime());
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void release_ShouldShrinkLimitOncePerInterval_WhenOverloaded() {
+        var limiter = new AdaptiveConcurrencyLimiter(100, 10, 1000, BACKOFF_INTERVAL);
+        var now = System.nanoTime();
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(true, now);
+        limiter.release(true, now + 1);
+
+        assertThat(limiter.getLimit()).isEqualTo(75);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void release_ShouldNotShrinkBelowMinimum() {
+        var limiter = new AdaptiveConcurrencyLimiter(12, 10, 1000, BACKOFF_INTERVAL);
+        var now = System.nanoTime();
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+            limiter.release(true, now + i * BACKOFF_INTERVAL);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void release_ShouldGrowLimitByOne_AfterLimitHealthyCompletions() {
+        var limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, BACKOFF_INTERVAL);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+            limiter.release(false, System.nanoTime());
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.springboot.configs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionPermitDataSourceTest {
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void getConnection_ShouldFail_WhenAllPermitsAreInUse() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        var dataSource = new ConnectionPermitDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        dataSource.getConnection();
+
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void close_ShouldReleasePermitOnce() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        var dataSource = new ConnectionPermitDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        Connection guarded = dataSource.getConnection();
+        guarded.close();
+        guarded.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_ShouldReleasePermit_WhenTargetFails() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("down"));
+        var dataSource = new ConnectionPermitDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.springboot.configs;
+
+import com.example.springboot.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LoadSheddingFilterTest {
+
+    private static final LoadSheddingProperties PROPERTIES =
+            new LoadSheddingProperties(true, 1, 1, 1, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+    @Mock
+    private HandlerExceptionResolver exceptionResolver;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void doFilter_ShouldAnswer503_WhenLimitIsReached() throws Exception {
+        var limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1).toNanos());
+        var filter = new LoadSheddingFilter(limiter, new ConnectionPoolWaitProbe(() -> null), PROPERTIES, exceptionResolver, meterRegistry);
+        limiter.tryAcquire();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders"), new MockHttpServletResponse(), filterChain);
+
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(ServiceUnavailableException.class));
+        verifyNoInteractions(filterChain);
+        assertThat(meterRegistry.counter("load.shedding.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_ShouldAdmitActuatorRequests_WhenLimitIsReached() throws Exception {
+        var limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1).toNanos());
+        var filter = new LoadSheddingFilter(limiter, new ConnectionPoolWaitProbe(() -> null), PROPERTIES, exceptionResolver, meterRegistry);
+        limiter.tryAcquire();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    @Test
+    void doFilter_ShouldReleaseSlot_AfterRequestCompletes() throws Exception {
+        var limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1).toNanos());
+        var filter = new LoadSheddingFilter(limiter, new ConnectionPoolWaitProbe(() -> null), PROPERTIES, exceptionResolver, meterRegistry);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders"), new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
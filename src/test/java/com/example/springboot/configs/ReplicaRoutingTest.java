@@ -0,0 +1,100 @@
+package com.example.springboot.configs;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two embedded databases stand in for the primary and the replica; no replication runs between
+ * them, so where a row is found shows which one served the read.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "api.datasource.replica.url=jdbc:h2:mem:products_api_replica;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+        "api.datasource.replica.read-your-writes-window=1m"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists products (product_id uuid primary key, name varchar(255), "
+                + "value numeric(38,2), version bigint default 0 not null)");
+    }
+
+    @Test
+    void searchProducts_ShouldReadFromReplica_WhenClientHasNotWritten() throws Exception {
+        var name = "Replica only " + UUID.randomUUID();
+        replica.update("insert into products (product_id, name, value) values (?, ?, ?)", UUID.randomUUID(), name, new BigDecimal("1.00"));
+
+        mockMvc.perform(get("/products/search").param("name", name))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[0].name").value(name));
+        assertThat(primary.queryForObject("select count(*) from products where name = ?", Integer.class, name)).isZero();
+    }
+
+    @Test
+    void searchProducts_ShouldReadFromPrimary_WhenClientWroteWithinWindow() throws Exception {
+        var name = "Primary only " + UUID.randomUUID();
+        var created = mockMvc.perform(post("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"" + name + "\", \"value\": 2.50}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn();
+
+        mockMvc.perform(get("/products/search").param("name", name))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded").doesNotExist());
+        Cookie readYourWrites = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        mockMvc.perform(get("/products/search").param("name", name).cookie(readYourWrites))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[0].name").value(name));
+    }
+
+    @Test
+    void getProduct_ShouldFillTheCacheFromPrimary_EvenWithoutReadYourWrites() throws Exception {
+        var productId = UUID.randomUUID();
+        primary.update("insert into products (product_id, name, value) values (?, ?, ?)", productId, "Current", new BigDecimal("3.00"));
+        replica.update("insert into products (product_id, name, value) values (?, ?, ?)", productId, "Lagging", new BigDecimal("1.00"));
+
+        mockMvc.perform(get("/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Current"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.springboot.configs;
+
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaIndexValidatorTest {
+
+    @Table(name = "shipments", indexes = {
+            @Index(name = "idx_shipments_shipped_at", columnList = "shippedAt"),
+            @Index(name = "idx_shipments_carrier_id_shipped_at", columnList = "carrier_id, shipped_at")
+    })
+    private static class Shipment {
+    }
+
+    private JdbcTemplate jdbcTemplate;
+    private SchemaIndexValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table shipments (shipment_id uuid primary key, carrier_id uuid, shipped_at timestamp)");
+        validator = new SchemaIndexValidator(dataSource, null, new SchemaProperties(SchemaProperties.IndexValidation.FAIL));
+    }
+
+    @Test
+    void findMissingIndexes_ShouldListDeclaredIndexesTheDatabaseLacks() throws Exception {
+        jdbcTemplate.execute("create index idx_shipments_shipped_at on shipments (shipped_at)");
+
+        assertThat(validator.findMissingIndexes(List.of(Shipment.class)))
+                .containsExactly("shipments.idx_shipments_carrier_id_shipped_at [carrier_id, shipped_at]");
+    }
+
+    @Test
+    void findMissingIndexes_ShouldAcceptIndexesUnderAnotherName_WhenColumnsMatch() throws Exception {
+        jdbcTemplate.execute("create index shipments_by_time on shipments (shipped_at)");
+        jdbcTemplate.execute("create index shipments_by_carrier on shipments (carrier_id, shipped_at)");
+
+        assertThat(validator.findMissingIndexes(List.of(Shipment.class))).isEmpty();
+    }
+}
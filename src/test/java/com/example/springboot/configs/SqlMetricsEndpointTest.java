@@ -0,0 +1,57 @@
+package com.example.springboot.configs;
+
+import com.example.springboot.models.Client;
+import com.example.springboot.repositories.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlMetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void report_ShouldCountStatementsPerEndpoint_WhenRequestsWereServed() throws Exception {
+        var client = new Client();
+        client.setName("John Doe");
+        client.setLogin("johndoe");
+        client.setEmail("johndoe@example.com");
+        var clientId = clientRepository.save(client).getClientId();
+
+        mockMvc.perform(get("/clients")).andExpect(status().isOk());
+        mockMvc.perform(get("/clients/{id}", clientId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/sql"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requests[?(@.uri == '/clients' && @.method == 'GET')].maxStatements", hasItem(1.0)))
+                .andExpect(jsonPath("$.requests[?(@.uri == '/clients/{id}')].requests", hasItem(1)))
+                .andExpect(jsonPath("$.repositories[*].repository", hasItem("ClientRepository")))
+                .andExpect(jsonPath("$.pools", not(empty())))
+                .andExpect(jsonPath("$.slowQueryThreshold").exists());
+    }
+
+    @Test
+    void metrics_ShouldPublishSqlAndPoolMeters() throws Exception {
+        mockMvc.perform(get("/clients")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(jsonPath("$.names", hasItem("http.server.requests.sql")))
+                .andExpect(jsonPath("$.names", hasItem("spring.data.repository.invocations")))
+                .andExpect(jsonPath("$.names", hasItem("hikaricp.connections.acquire")));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.springboot.configs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryConsume_ShouldAllowBurstUpToCapacity_ThenRefuse() {
+        var bucket = new TokenBucket(new RateLimitProperties.Limit(3, 1), 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.availableTokens(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void tryConsume_ShouldRefillAtConfiguredRate() {
+        var bucket = new TokenBucket(new RateLimitProperties.Limit(1, 2), 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(SECOND / 4)).isEqualTo(SECOND / 4);
+        assertThat(bucket.tryConsume(SECOND / 2)).isZero();
+    }
+
+    @Test
+    void availableTokens_ShouldNotExceedCapacity_WhenIdle() {
+        var bucket = new TokenBucket(new RateLimitProperties.Limit(5, 10), 0);
+
+        bucket.tryConsume(0);
+
+        assertThat(bucket.availableTokens(60 * SECOND)).isEqualTo(5);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.Client;
+import com.example.springboot.models.Product;
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "api.orders.ingestion.enabled=true",
+        "api.orders.ingestion.log-directory=target/order-ingestion-test"
+})
+class AsyncOrderIngestionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void saveOrder_ShouldAcceptAndWriteInBackground() throws Exception {
+        var client = new Client();
+        client.setName("John Doe");
+        client.setLogin("johndoe");
+        client.setEmail("johndoe@example.com");
+        clientRepository.save(client);
+        var product = new Product();
+        product.setName("Laptop");
+        product.setValue(BigDecimal.TEN);
+        productRepository.save(product);
+        var body = """
+                {"clientId": "%s", "productIds": ["%s"]}""".formatted(client.getClientId(), product.getProductId());
+
+        var response = mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andReturn().getResponse();
+        var orderId = UUID.fromString(objectMapper.readTree(response.getContentAsString()).get("orderId").asText());
+        assertThat(response.getHeader(HttpHeaders.LOCATION)).endsWith("/orders/" + orderId + "/status");
+
+        awaitStatus(orderId, "CREATED");
+        mockMvc.perform(get("/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines[0].productId").value(product.getProductId().toString()));
+    }
+
+    @Test
+    void saveOrder_ShouldReturnNotFound_WhenClientDoesNotExist() throws Exception {
+        var body = """
+                {"clientId": "%s", "productIds": ["%s"]}""".formatted(UUID.randomUUID(), UUID.randomUUID());
+
+        mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+    }
+
+    private void awaitStatus(UUID orderId, String expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            var status = objectMapper.readTree(mockMvc.perform(get("/orders/{id}/status", orderId))
+                    .andReturn().getResponse().getContentAsString()).get("status").asText();
+            if (status.equals(expected)) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        mockMvc.perform(get("/orders/{id}/status", orderId)).andExpect(jsonPath("$.status").value(expected));
+    }
+}
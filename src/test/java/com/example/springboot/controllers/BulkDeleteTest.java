@@ -0,0 +1,124 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.OrderRepository;
+import com.example.springboot.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkDeleteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void deleteProduct_ShouldAnswer400_WhenOrdersReferenceIt_And404_WhenMissing() throws Exception {
+        var productId = createProduct("Referenced");
+        createOrder(createClient(), productId);
+
+        mockMvc.perform(delete("/products/{id}", productId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cannot delete product because there are orders associated with it."));
+        mockMvc.perform(delete("/products/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+
+        assertThat(productRepository.existsById(productId)).isTrue();
+    }
+
+    @Test
+    void deleteClients_ShouldDeleteUnreferencedClients_AndReportTheOthers() throws Exception {
+        var free = createClient();
+        var referenced = createClient();
+        var missing = UUID.randomUUID();
+        createOrder(referenced, createProduct("For a client"));
+
+        mockMvc.perform(bulkDelete("/clients/bulk-delete", List.of(free, referenced, missing)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.deleted[0]").value(free.toString()))
+                .andExpect(jsonPath("$.inUse[0]").value(referenced.toString()))
+                .andExpect(jsonPath("$.notFound[0]").value(missing.toString()));
+
+        assertThat(clientRepository.existsById(free)).isFalse();
+        assertThat(clientRepository.existsById(referenced)).isTrue();
+    }
+
+    @Test
+    void deleteOrders_ShouldDeleteOrdersWithTheirLines_AndFreeTheirProducts() throws Exception {
+        var clientId = createClient();
+        var productId = createProduct("Ordered twice");
+        var first = createOrder(clientId, productId);
+        var second = createOrder(clientId, productId);
+
+        mockMvc.perform(bulkDelete("/orders/bulk-delete", List.of(first, second)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted.length()").value(2));
+        mockMvc.perform(delete("/orders/{id}", first)).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/products/{id}", productId)).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/clients/{id}", clientId)).andExpect(status().isNoContent());
+
+        assertThat(orderRepository.existsById(second)).isFalse();
+    }
+
+    @Test
+    void deleteProducts_ShouldAnswer400_WhenTooManyIds() throws Exception {
+        var ids = Collections.nCopies(1001, UUID.randomUUID());
+
+        mockMvc.perform(bulkDelete("/products/bulk-delete", ids))
+                .andExpect(status().isBadRequest());
+    }
+
+    private UUID createClient() throws Exception {
+        var login = "bulk-" + UUID.randomUUID();
+        return create("/clients", "{\"name\": \"Bulk\", \"login\": \"" + login + "\", \"email\": \"" + login + "@example.com\"}", "clientId");
+    }
+
+    private UUID createProduct(String name) throws Exception {
+        return create("/products", "{\"name\": \"" + name + " " + UUID.randomUUID() + "\", \"value\": 5.00}", "productId");
+    }
+
+    private UUID createOrder(UUID clientId, UUID productId) throws Exception {
+        return create("/orders", "{\"clientId\": \"" + clientId + "\", \"productIds\": [\"" + productId + "\"]}", "orderId");
+    }
+
+    private UUID create(String path, String body, String idField) throws Exception {
+        var response = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(response).get(idField).asText());
+    }
+
+    private MockHttpServletRequestBuilder bulkDelete(String path, List<UUID> ids) throws Exception {
+        return post(path).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(ids));
+    }
+}
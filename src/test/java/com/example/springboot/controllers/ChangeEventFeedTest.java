@@ -0,0 +1,228 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.configs.ChangeEventProperties;
+import com.example.springboot.dtos.ChangeEventDto;
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.models.ChangeEvent;
+import com.example.springboot.repositories.ChangeEventRepository;
+import com.example.springboot.services.ChangeEventService;
+import com.example.springboot.services.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "api.events.buffer-size=4",
+        "api.events.poll-interval=1h",
+        "api.events.settle-delay=200ms",
+        "api.events.stream-timeout=2s",
+        "api.events.heartbeat=100ms"
+})
+class ChangeEventFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ChangeEventProperties properties;
+
+    @Test
+    void getEvents_ShouldListProductChangesInOrder_WhenPolledSinceSequence() throws Exception {
+        var since = changeEventService.getLastSequence();
+        var product = productService.save(new ProductRecordDto("Feed product", BigDecimal.ONE));
+
+        mockMvc.perform(put("/products/{id}", product.getProductId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Feed product\", \"value\": 2.50}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/events").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events", hasSize(2)))
+                .andExpect(jsonPath("$.events[0].resource").value("PRODUCT"))
+                .andExpect(jsonPath("$.events[0].action").value("CREATED"))
+                .andExpect(jsonPath("$.events[1].id").value(product.getProductId().toString()))
+                .andExpect(jsonPath("$.events[1].action").value("UPDATED"))
+                .andExpect(jsonPath("$.events[1].value").value(2.5))
+                .andExpect(jsonPath("$.lastSequence").value(since + 2));
+    }
+
+    @Test
+    void getEvents_ShouldReplayFromOutbox_WhenReaderFellBehindBuffer() throws Exception {
+        var since = changeEventService.getLastSequence();
+        for (int i = 0; i < 10; i++) {
+            productService.save(new ProductRecordDto("Replayed product " + i, BigDecimal.ONE));
+        }
+
+        mockMvc.perform(get("/events").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events", hasSize(10)))
+                .andExpect(jsonPath("$.events[0].sequence").value(since + 1))
+                .andExpect(jsonPath("$.events[9].sequence").value(since + 10));
+    }
+
+    @Test
+    void getEvents_ShouldNotWaitForRolledBackEvent() {
+        var since = changeEventService.getLastSequence();
+        var transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            changeEventService.record(ChangeEvent.Resource.PRODUCT, UUID.randomUUID(), ChangeEvent.Action.UPDATED, BigDecimal.ONE);
+            status.setRollbackOnly();
+        });
+        var product = productService.save(new ProductRecordDto("After rollback", BigDecimal.ONE));
+
+        var events = changeEventService.getEventsAfter(since, 10);
+
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().id()).isEqualTo(product.getProductId());
+    }
+
+    @Test
+    void record_ShouldInsertTheEventsOfATransactionAsOneBatch() {
+        var since = changeEventService.getLastSequence();
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < 10; i++) {
+                changeEventService.record(ChangeEvent.Resource.ORDER, UUID.randomUUID(), ChangeEvent.Action.CREATED, BigDecimal.TEN);
+            }
+        });
+
+        // one sequence value per event, then the inserts as one batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(11);
+        assertThat(changeEventService.getEventsAfter(since, 20)).extracting(ChangeEventDto::sequence)
+                .containsExactly(LongStream.rangeClosed(since + 1, since + 10).boxed().toArray(Long[]::new));
+    }
+
+    @Test
+    void getEvents_ShouldNumberEventsInCommitOrder_WhenEarlierTransactionCommitsLast() {
+        var since = changeEventService.getLastSequence();
+        var lateId = UUID.randomUUID();
+        var transaction = new TransactionTemplate(transactionManager);
+        var concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        var product = transaction.execute(status -> {
+            changeEventService.record(ChangeEvent.Resource.PRODUCT, lateId, ChangeEvent.Action.UPDATED, BigDecimal.ONE);
+            return concurrent.execute(inner -> productService.save(new ProductRecordDto("Committed first", BigDecimal.ONE)));
+        });
+
+        var events = changeEventService.getEventsAfter(since, 10);
+
+        assertThat(events).extracting(ChangeEventDto::id).containsExactly(product.getProductId(), lateId);
+        assertThat(events).extracting(ChangeEventDto::sequence).containsExactly(since + 1, since + 2);
+    }
+
+    @Test
+    void getEvents_ShouldDeliverEventsOfOtherInstances_WhenOutboxIsPolled() {
+        var since = changeEventService.getLastSequence();
+        var otherInstance = new ChangeEventService(changeEventRepository, entityManager, properties, new SimpleMeterRegistry());
+        var remoteId = UUID.randomUUID();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                otherInstance.record(ChangeEvent.Resource.PRODUCT, remoteId, ChangeEvent.Action.DELETED, null));
+        var product = productService.save(new ProductRecordDto("After remote event", BigDecimal.ONE));
+
+        assertThat(changeEventService.getEventsAfter(since, 10)).isEmpty();
+
+        changeEventService.pollOutbox();
+
+        assertThat(changeEventService.getEventsAfter(since, 10)).extracting(ChangeEventDto::id)
+                .containsExactly(remoteId, product.getProductId());
+    }
+
+    @Test
+    void getEvents_ShouldHoldBackLaterEvents_UntilMissingSequenceSettles() throws Exception {
+        var since = changeEventService.getLastSequence();
+        // another instance took this sequence and has not committed its event yet
+        var inFlight = new TransactionTemplate(transactionManager).execute(status ->
+                ((Number) entityManager.createNativeQuery("select next value for change_events_seq").getSingleResult()).longValue());
+        var product = productService.save(new ProductRecordDto("Behind a missing sequence", BigDecimal.ONE));
+
+        changeEventService.pollOutbox();
+
+        assertThat(inFlight).isEqualTo(since + 1);
+        assertThat(changeEventService.getEventsAfter(since, 10)).isEmpty();
+
+        Thread.sleep(properties.settleDelay().toMillis() + 50);
+        changeEventService.pollOutbox();
+
+        assertThat(changeEventService.getEventsAfter(since, 10)).extracting(ChangeEventDto::id)
+                .containsExactly(product.getProductId());
+    }
+
+    @Test
+    void getEvents_ShouldNotStitchBufferOnto_ReplayThatStopsShortOfIt() {
+        var since = changeEventService.getLastSequence();
+        for (int i = 0; i < 6; i++) {
+            productService.save(new ProductRecordDto("Pruned product " + i, BigDecimal.ONE));
+        }
+        // the outbox no longer has the events between the reader and the buffer
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                changeEventRepository.deleteAllById(LongStream.rangeClosed(since + 2, since + 6).boxed().toList()));
+
+        assertThat(changeEventService.getEventsAfter(since, 10)).extracting(ChangeEventDto::sequence)
+                .containsExactly(since + 1);
+    }
+
+    @Test
+    void streamEvents_ShouldPushChanges_AsServerSentEvents() throws Exception {
+        var since = changeEventService.getLastSequence();
+        var result = mockMvc.perform(get("/events").accept(MediaType.TEXT_EVENT_STREAM).param("since", String.valueOf(since)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var product = productService.save(new ProductRecordDto("Streamed product", BigDecimal.TEN));
+
+        var expectedId = product.getProductId().toString();
+        for (int attempt = 0; attempt < 100 && !result.getResponse().getContentAsString().contains(expectedId); attempt++) {
+            Thread.sleep(20);
+        }
+        assertThat(result.getResponse().getContentAsString())
+                .contains("id:" + (since + 1))
+                .contains("event:product")
+                .contains(expectedId);
+    }
+}
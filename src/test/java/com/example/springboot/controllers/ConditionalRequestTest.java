@@ -0,0 +1,150 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.Client;
+import com.example.springboot.models.Order;
+import com.example.springboot.models.OrderLine;
+import com.example.springboot.models.Product;
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.OrderRepository;
+import com.example.springboot.repositories.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+    private static final String PRODUCT_BODY = """
+            {"name": "Laptop", "value": 2500.00}""";
+
+    private static final String CLIENT_BODY = """
+            {"name": "John Smith", "login": "johnsmith", "email": "johnsmith@example.com"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Product product;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        var client = new Client();
+        client.setName("John Doe");
+        client.setLogin("johndoe");
+        client.setEmail("johndoe@example.com");
+        clientRepository.save(client);
+
+        product = new Product();
+        product.setName("Laptop");
+        product.setValue(BigDecimal.TEN);
+        product = productRepository.save(product);
+
+        order = new Order();
+        order.setClient(client);
+        order.replaceLines(List.of(OrderLine.of(product, 1)));
+        order.setOrderedAt(LocalDateTime.now());
+        order = orderRepository.save(order);
+    }
+
+    @Test
+    void getProduct_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        var eTag = mockMvc.perform(get("/products/{id}", product.getProductId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/products/{id}", product.getProductId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void updateProduct_ShouldReturnPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        mockMvc.perform(put("/products/{id}", product.getProductId())
+                        .contentType(MediaType.APPLICATION_JSON).content(PRODUCT_BODY)
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/products/{id}", product.getProductId())
+                        .contentType(MediaType.APPLICATION_JSON).content(PRODUCT_BODY)
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void getOrder_ShouldReturnNotModifiedWithSingleQuery_WhenETagMatches() throws Exception {
+        var eTag = mockMvc.perform(get("/orders/{id}", order.getOrderId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/orders/{id}", order.getOrderId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrder_ShouldKeepETagAndLinePrice_WhenProductChanges() throws Exception {
+        var eTag = mockMvc.perform(get("/orders/{id}", order.getOrderId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/products/{id}", product.getProductId())
+                        .contentType(MediaType.APPLICATION_JSON).content(PRODUCT_BODY))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/orders/{id}", order.getOrderId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/orders/{id}", order.getOrderId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines[0].unitPrice").value(10))
+                .andExpect(jsonPath("$.total").value(10));
+    }
+
+    @Test
+    void getOrder_ShouldReturnNewETag_WhenEmbeddedClientChanges() throws Exception {
+        var eTag = mockMvc.perform(get("/orders/{id}", order.getOrderId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/clients/{id}", order.getClient().getClientId())
+                        .contentType(MediaType.APPLICATION_JSON).content(CLIENT_BODY))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/orders/{id}", order.getOrderId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotentCreationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void saveProduct_ShouldReplayFirstResponse_WhenRetriedWithSameKey() throws Exception {
+        var name = "Retried " + UUID.randomUUID();
+        var key = UUID.randomUUID().toString();
+        var body = "{\"name\": \"" + name + "\", \"value\": 9.90}";
+
+        var first = mockMvc.perform(createProduct(key, body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        var retry = mockMvc.perform(createProduct(key, body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn();
+
+        assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(productRepository.findAll()).filteredOn(product -> product.getName().equals(name)).hasSize(1);
+    }
+
+    @Test
+    void saveProduct_ShouldNotReplayAnotherCallersResponse_WhenBothChoseTheSameKey() throws Exception {
+        var name = "Shared key " + UUID.randomUUID();
+        var key = "order-1";
+        var body = "{\"name\": \"" + name + "\", \"value\": 9.90}";
+
+        mockMvc.perform(createProduct(key, body).header("X-API-Key", "first-integrator"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(createProduct(key, body).header("X-API-Key", "second-integrator"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        assertThat(productRepository.findAll()).filteredOn(product -> product.getName().equals(name)).hasSize(2);
+    }
+
+    @Test
+    void saveProduct_ShouldAnswer422_WhenKeyIsReusedForAnotherBody() throws Exception {
+        var key = UUID.randomUUID().toString();
+        mockMvc.perform(createProduct(key, "{\"name\": \"First\", \"value\": 1.00}")).andExpect(status().isCreated());
+
+        mockMvc.perform(createProduct(key, "{\"name\": \"Second\", \"value\": 2.00}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value("422"));
+    }
+
+    @Test
+    void saveProduct_ShouldRunAgain_WhenFirstAttemptFailed() throws Exception {
+        var key = UUID.randomUUID().toString();
+        var failed = mockMvc.perform(createProduct(key, "{\"name\": \"\", \"value\": 1.00}")).andReturn();
+        assertThat(failed.getResponse().getStatus()).isGreaterThanOrEqualTo(400);
+
+        mockMvc.perform(createProduct(key, "{\"name\": \"Corrected\", \"value\": 1.00}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    @Test
+    void saveProduct_ShouldAnswer400_WhenKeyIsTooLong() throws Exception {
+        mockMvc.perform(createProduct("k".repeat(256), "{\"name\": \"Long key\", \"value\": 1.00}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void saveClient_ShouldCreateOnce_WhenDuplicatesArriveConcurrently() throws Exception {
+        var login = "concurrent-" + UUID.randomUUID();
+        var key = UUID.randomUUID().toString();
+        var request = post("/clients")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Concurrent\", \"login\": \"" + login + "\", \"email\": \"c@example.com\"}");
+        var start = new CountDownLatch(1);
+        var attempts = new ArrayList<Callable<MvcResult>>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(() -> {
+                start.await();
+                return mockMvc.perform(request).andReturn();
+            });
+        }
+
+        var responses = new ArrayList<String>();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var futures = attempts.stream().map(executor::submit).toList();
+            start.countDown();
+            for (var future : futures) {
+                var response = future.get().getResponse();
+                assertThat(response.getStatus()).isEqualTo(201);
+                responses.add(response.getContentAsString());
+            }
+        }
+
+        assertThat(responses).containsOnly(responses.getFirst());
+        assertThat(clientRepository.findAll()).filteredOn(client -> login.equals(client.getLogin())).hasSize(1);
+    }
+
+    private static MockHttpServletRequestBuilder createProduct(String key, String body) {
+        return post("/products")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+}
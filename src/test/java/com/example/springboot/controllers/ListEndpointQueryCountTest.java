@@ -0,0 +1,126 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.Client;
+import com.example.springboot.models.Order;
+import com.example.springboot.models.OrderLine;
+import com.example.springboot.models.Product;
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.OrderRepository;
+import com.example.springboot.repositories.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements issued per list request and fails if that number grows with the
+ * number of rows returned, which is the signature of an N+1 query pattern.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListEndpointQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        clientRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listEndpoints_ShouldIssueConstantNumberOfStatements_RegardlessOfRowCount() throws Exception {
+        seedOrders(3);
+        long ordersWithFewRows = countStatements("/orders");
+        long clientsWithFewRows = countStatements("/clients");
+        long productsWithFewRows = countStatements("/products");
+
+        seedOrders(30);
+        assertThat(countStatements("/orders")).isEqualTo(ordersWithFewRows);
+        assertThat(countStatements("/clients")).isEqualTo(clientsWithFewRows);
+        assertThat(countStatements("/products")).isEqualTo(productsWithFewRows);
+    }
+
+    @Test
+    void orderStream_ShouldIssueConstantNumberOfStatements_RegardlessOfRowCount() throws Exception {
+        seedOrders(3);
+        long withFewRows = countStreamStatements();
+
+        seedOrders(30);
+        assertThat(countStreamStatements()).isEqualTo(withFewRows);
+    }
+
+    private long countStatements(String uri) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long countStreamStatements() throws Exception {
+        statistics.clear();
+        var result = mockMvc.perform(get("/orders").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            var client = new Client();
+            client.setName("Client " + i);
+            client.setLogin("client" + i);
+            client.setEmail("client" + i + "@example.com");
+            clientRepository.save(client);
+
+            var first = product("First " + i);
+            var second = product("Second " + i);
+
+            var order = new Order();
+            order.setClient(client);
+            order.replaceLines(List.of(OrderLine.of(first, 1), OrderLine.of(second, 1)));
+            order.setOrderedAt(LocalDateTime.now());
+            orderRepository.save(order);
+        }
+    }
+
+    private Product product(String name) {
+        var product = new Product();
+        product.setName(name);
+        product.setValue(BigDecimal.TEN);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.Client;
+import com.example.springboot.models.Order;
+import com.example.springboot.models.OrderLine;
+import com.example.springboot.models.Product;
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.OrderRepository;
+import com.example.springboot.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orders are dated in 1999, away from anything the other tests write to the shared database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Client john;
+    private Client jane;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll(orderRepository.findAll().stream()
+                .filter(order -> order.getOrderedAt().getYear() == 1999)
+                .toList());
+
+        john = clientRepository.save(client("John Doe", "johndoe"));
+        jane = clientRepository.save(client("Jane Doe", "janedoe"));
+        var laptop = productRepository.save(product("Laptop", "2500.00"));
+        var mouse = productRepository.save(product("Mouse", "50.00"));
+
+        order(john, LocalDateTime.of(1999, 3, 1, 10, 0), laptop, mouse);
+        order(john, LocalDateTime.of(1999, 3, 2, 23, 59), mouse);
+        order(jane, LocalDateTime.of(1999, 3, 2, 8, 0), mouse);
+    }
+
+    @Test
+    void getRevenueByClient_ShouldRankClientsByRevenue_WhenOrdersInWindow() throws Exception {
+        mockMvc.perform(get("/reports/revenue/clients")
+                        .param("from", "1999-03-01T00:00:00").param("to", "1999-03-03T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].clientId").value(john.getClientId().toString()))
+                .andExpect(jsonPath("$[0].orders").value(2))
+                .andExpect(jsonPath("$[0].revenue").value(2600.00))
+                .andExpect(jsonPath("$[1].clientId").value(jane.getClientId().toString()))
+                .andExpect(jsonPath("$[1].revenue").value(50.00));
+    }
+
+    @Test
+    void getRevenueByProduct_ShouldHonourLimit() throws Exception {
+        mockMvc.perform(get("/reports/revenue/products")
+                        .param("from", "1999-03-01T00:00:00").param("to", "1999-03-03T00:00:00")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Laptop"))
+                .andExpect(jsonPath("$[0].revenue").value(2500.00));
+    }
+
+    @Test
+    void getRevenueByDay_ShouldGroupOrdersByCalendarDay() throws Exception {
+        mockMvc.perform(get("/reports/revenue/daily").param("from", "1999-03-01").param("to", "1999-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].day").value("1999-03-01"))
+                .andExpect(jsonPath("$[0].orders").value(1))
+                .andExpect(jsonPath("$[0].revenue").value(2550.00))
+                .andExpect(jsonPath("$[1].day").value("1999-03-02"))
+                .andExpect(jsonPath("$[1].orders").value(2))
+                .andExpect(jsonPath("$[1].revenue").value(100.00));
+    }
+
+    @Test
+    void getOrderCount_ShouldExcludeOrdersAtWindowEnd() throws Exception {
+        mockMvc.perform(get("/reports/orders/count")
+                        .param("from", "1999-03-01T00:00:00").param("to", "1999-03-02T23:59:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders").value(2));
+    }
+
+    private static Client client(String name, String login) {
+        var client = new Client();
+        client.setName(name);
+        client.setLogin(login);
+        client.setEmail(login + "@example.com");
+        return client;
+    }
+
+    private static Product product(String name, String value) {
+        var product = new Product();
+        product.setName(name);
+        product.setValue(new BigDecimal(value));
+        return product;
+    }
+
+    private void order(Client client, LocalDateTime orderedAt, Product... products) {
+        var order = new Order();
+        order.setClient(client);
+        order.replaceLines(Stream.of(products).map(product -> OrderLine.of(product, 1)).toList());
+        order.setOrderedAt(orderedAt);
+        orderRepository.save(order);
+    }
+}
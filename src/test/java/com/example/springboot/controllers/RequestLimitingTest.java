@@ -0,0 +1,72 @@
+package com.example.springboot.controllers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "api.rate-limit.enabled=true",
+        "api.rate-limit.routes[/clients].capacity=2",
+        "api.rate-limit.routes[/clients].refill-per-second=0.01",
+        "api.load-shedding.enabled=true"
+})
+class RequestLimitingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void getClients_ShouldAnswer429_WhenCallerExceedsRouteLimit() throws Exception {
+        var rejectedBefore = rejectedClientsRequests();
+        mockMvc.perform(get("/clients").header("X-API-Key", "looping-integrator"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Remaining", "1"));
+        mockMvc.perform(get("/clients").header("X-API-Key", "looping-integrator")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/clients").header("X-API-Key", "looping-integrator"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"))
+                .andExpect(jsonPath("$.status").value("429"));
+        assertThat(rejectedClientsRequests()).isEqualTo(rejectedBefore + 1);
+    }
+
+    @Test
+    void getClients_ShouldNotLimitOtherCallersOrRoutes_WhenOneCallerIsLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/clients").header("X-API-Key", "noisy-neighbour"));
+        }
+
+        mockMvc.perform(get("/clients").header("X-API-Key", "well-behaved")).andExpect(status().isOk());
+        mockMvc.perform(get("/products").header("X-API-Key", "noisy-neighbour")).andExpect(status().isOk());
+    }
+
+    @Test
+    void metrics_ShouldPublishLimiterState() throws Exception {
+        mockMvc.perform(get("/products")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("load.shedding.limit").gauge().value()).isBetween(10.0, 1000.0);
+        assertThat(meterRegistry.get("load.shedding.in.flight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("rate.limit.keys").gauge().value()).isPositive();
+    }
+
+    private double rejectedClientsRequests() {
+        var counter = meterRegistry.find("rate.limit.rejected").tag("uri", "/clients").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.springboot.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compression happens in the servlet container, so these requests go over a real connection.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseCompressionTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void bulkProducts_ShouldBeCompressed_WhenLargerThanThresholdAndGzipAccepted() throws Exception {
+        var products = IntStream.range(0, 100)
+                .mapToObj(i -> "{\"name\": \"Product %d %s\", \"value\": 10.00}".formatted(i, UUID.randomUUID()))
+                .collect(Collectors.joining(",", "[", "]"));
+        send(HttpRequest.newBuilder(uri("/products/bulk")).header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(products)));
+
+        var compressed = send(HttpRequest.newBuilder(uri("/products?size=100")).header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        var plain = send(HttpRequest.newBuilder(uri("/products?size=100")));
+
+        assertThat(compressed.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(compressed.body().length).isLessThan(plain.body().length / 2);
+    }
+
+    @Test
+    void smallResponses_ShouldNotBeCompressed() throws Exception {
+        var response = send(HttpRequest.newBuilder(uri("/reports/orders/count")).header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_LENGTH)).hasValue(String.valueOf(response.body().length));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
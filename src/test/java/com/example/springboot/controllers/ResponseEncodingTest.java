@@ -0,0 +1,116 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.Client;
+import com.example.springboot.models.Order;
+import com.example.springboot.models.OrderLine;
+import com.example.springboot.models.Product;
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.OrderRepository;
+import com.example.springboot.repositories.ProductRepository;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseEncodingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        var client = new Client();
+        client.setName("John Doe");
+        client.setLogin("johndoe");
+        client.setEmail("johndoe@example.com");
+        clientRepository.save(client);
+
+        var product = new Product();
+        product.setName("Laptop");
+        product.setValue(new BigDecimal("2500.00"));
+        productRepository.save(product);
+
+        order = new Order();
+        order.setClient(client);
+        order.replaceLines(List.of(OrderLine.of(product, 2)));
+        order.setOrderedAt(LocalDateTime.now());
+        order = orderRepository.save(order);
+    }
+
+    /**
+     * UUIDs are written as 16-byte binary values in CBOR.
+     */
+    @Test
+    void getOrder_ShouldRespondWithCbor_WhenAccepted() throws Exception {
+        var body = mockMvc.perform(get("/orders/{id}", order.getOrderId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var tree = new CBORMapper().readTree(body);
+        var orderId = ByteBuffer.wrap(tree.get("orderId").binaryValue());
+        assertThat(new UUID(orderId.getLong(), orderId.getLong())).isEqualTo(order.getOrderId());
+        assertThat(tree.get("lines").get(0).get("quantity").asInt()).isEqualTo(2);
+        assertThat(tree.get("total").decimalValue()).isEqualByComparingTo("5000.00");
+    }
+
+    @Test
+    void getOrders_ShouldRenderSelectedFieldsOnly_WithoutLoadingAssociations() throws Exception {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/orders").param("fields", "orderId,orderedAt").param("size", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.orders[0].orderId").exists())
+                .andExpect(jsonPath("$._embedded.orders[0].orderedAt").exists())
+                .andExpect(jsonPath("$._embedded.orders[0].client").doesNotExist())
+                .andExpect(jsonPath("$._embedded.orders[0].lines").doesNotExist())
+                .andExpect(jsonPath("$._embedded.orders[0].total").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void getOrders_ShouldReturnBadRequest_WhenFieldIsUnknown() throws Exception {
+        mockMvc.perform(get("/orders").param("fields", "orderId,price"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Unknown fields [price]")));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.Client;
+import com.example.springboot.models.Order;
+import com.example.springboot.models.OrderLine;
+import com.example.springboot.models.Product;
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.OrderRepository;
+import com.example.springboot.repositories.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Rows are named and owned uniquely per test so filters only match what the test wrote to the
+ * shared database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SearchEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private String prefix;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "Search-" + UUID.randomUUID() + "-";
+        var keyboard = product(prefix + "Keyboard", "150.00");
+        product(prefix + "Laptop", "2500.00");
+        product(prefix + "Mouse", "50.00");
+        product(prefix + "Monitor_4K", "900.00");
+
+        client = new Client();
+        client.setName("John Doe");
+        client.setLogin("johndoe");
+        client.setEmail("johndoe@example.com");
+        clientRepository.save(client);
+        for (int day = 1; day <= 3; day++) {
+            var order = new Order();
+            order.setClient(client);
+            order.replaceLines(List.of(OrderLine.of(keyboard, 1)));
+            order.setOrderedAt(LocalDateTime.of(2024, 5, day, 12, 0));
+            orderRepository.save(order);
+        }
+    }
+
+    @Test
+    void searchProducts_ShouldFilterByPrefixAndValueRange_SortedByValue() throws Exception {
+        mockMvc.perform(get("/products/search").param("name", prefix + "M")
+                        .param("minValue", "10").param("maxValue", "1000").param("sort", "value,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products.length()").value(2))
+                .andExpect(jsonPath("$._embedded.products[0].name").value(prefix + "Monitor_4K"))
+                .andExpect(jsonPath("$._embedded.products[1].name").value(prefix + "Mouse"));
+    }
+
+    @Test
+    void searchProducts_ShouldMatchWildcardsLiterally_WhenNameContainsGiven() throws Exception {
+        mockMvc.perform(get("/products/search").param("name", prefix).param("nameContains", "r_4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products.length()").value(1))
+                .andExpect(jsonPath("$._embedded.products[0].name").value(prefix + "Monitor_4K"));
+    }
+
+    @Test
+    void searchProducts_ShouldLinkPages_WhenMoreResultsExist() throws Exception {
+        mockMvc.perform(get("/products/search").param("name", prefix).param("sort", "name").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products.length()").value(3))
+                .andExpect(jsonPath("$._links.next.href").value(containsString("page=1")))
+                .andExpect(jsonPath("$._links.prev").doesNotExist());
+
+        mockMvc.perform(get("/products/search").param("name", prefix).param("sort", "name").param("size", "3").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products.length()").value(1))
+                .andExpect(jsonPath("$._embedded.products[0].name").value(prefix + "Mouse"))
+                .andExpect(jsonPath("$._links.next").doesNotExist())
+                .andExpect(jsonPath("$._links.prev.href").value(containsString("page=0")));
+    }
+
+    @Test
+    void searchProducts_ShouldReturnBadRequest_WhenSortFieldIsNotIndexed() throws Exception {
+        mockMvc.perform(get("/products/search").param("sort", "version"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("sortable fields are [id, name, value]")));
+    }
+
+    @Test
+    void searchOrders_ShouldFilterByClientAndDateRange_InOneQuery() throws Exception {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/orders/search").param("clientId", client.getClientId().toString())
+                        .param("from", "2024-05-02T00:00:00").param("to", "2024-05-04T00:00:00")
+                        .param("sort", "orderedAt,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.orders.length()").value(2))
+                .andExpect(jsonPath("$._embedded.orders[0].orderedAt").value("2024-05-03T12:00:00"))
+                .andExpect(jsonPath("$._embedded.orders[1].orderedAt").value("2024-05-02T12:00:00"));
+
+        // the page with its clients, then the products of all its orders in one batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private Product product(String name, String value) {
+        var product = new Product();
+        product.setName(name);
+        product.setValue(new BigDecimal(value));
+        return productRepository.save(product);
+    }
+}
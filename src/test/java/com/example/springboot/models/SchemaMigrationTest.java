@@ -0,0 +1,128 @@
+package com.example.springboot.models;
+
+import com.example.springboot.migrations.V2__MigrateOrderProducts;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies the versioned migrations to H2 in the compatibility mode of each database. The PostgreSQL
+ * schema must also pass Hibernate's validation against the entities and the index validation.
+ * H2 has no pg_trgm, so the trigram index migration is left out, and no {@code setval}, which
+ * {@link #setval} stands in for.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:products_api_migrated;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration/postgresql",
+        "spring.flyway.target=2.3",
+        "spring.flyway.init-sqls=create alias if not exists setval for \"com.example.springboot.models.SchemaMigrationTest.setval\"",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "api.schema.index-validation=fail"
+})
+public class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void postgresqlMigrations_ShouldProduceTheSchemaTheEntitiesExpect() {
+        var applied = jdbcTemplate.queryForList("select version from \"flyway_schema_history\" where success", String.class);
+
+        assertThat(applied).contains("1", "1.6", "2", "2.1", "2.2", "2.3");
+    }
+
+    @Test
+    void mysqlMigrations_ShouldApply() {
+        var flyway = flyway("jdbc:h2:mem:products_api_mysql;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+                "classpath:db/migration/mysql", "2.3");
+
+        var result = flyway.migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrationsExecuted).isEqualTo(11);
+    }
+
+    /**
+     * A database as {@code ddl-auto=update} left it, created without Flyway from the baseline schema
+     * and holding orders whose products are only recorded in {@code order_products}, is adopted at
+     * version 1 and brought forward with its orders intact.
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "PostgreSQL, classpath:db/migration/postgresql",
+            "MySQL, classpath:db/migration/mysql"
+    })
+    void legacyDatabase_ShouldBeBroughtForward_WithOrderProductsMovedIntoOrderLines(String mode, String location) throws Exception {
+        var url = "jdbc:h2:mem:products_api_legacy_" + mode + ";MODE=" + mode + ";DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+        var dataSource = new DriverManagerDataSource(url, "sa", "");
+        try (var connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new DefaultResourceLoader().getResource(location + "/V1__baseline_schema.sql"));
+        }
+        var jdbc = new JdbcTemplate(dataSource);
+        var clientId = UUID.randomUUID();
+        var laptopId = UUID.randomUUID();
+        var mouseId = UUID.randomUUID();
+        var orderId = UUID.randomUUID();
+        var emptyOrderId = UUID.randomUUID();
+        jdbc.update("insert into clients (client_id, email, login, name) values (?, 'legacy@example.com', 'legacy', 'Legacy')", clientId);
+        jdbc.update("insert into products (product_id, name, value) values (?, 'Laptop', 2500.00)", laptopId);
+        jdbc.update("insert into products (product_id, name, value) values (?, 'Mouse', 20.00)", mouseId);
+        jdbc.update("insert into orders (order_id, client_id, ordered_at) values (?, ?, ?)", orderId, clientId, LocalDateTime.now());
+        jdbc.update("insert into orders (order_id, client_id, ordered_at) values (?, ?, ?)", emptyOrderId, clientId, LocalDateTime.now());
+        jdbc.update("insert into order_products (order_id, product_id) values (?, ?)", orderId, laptopId);
+        jdbc.update("insert into order_products (order_id, product_id) values (?, ?)", orderId, mouseId);
+
+        var result = Flyway.configure()
+                .dataSource(dataSource)
+                .locations(location)
+                .javaMigrations(new V2__MigrateOrderProducts())
+                .baselineOnMigrate(true)
+                .target("2")
+                .load()
+                .migrate();
+
+        assertThat(result.initialSchemaVersion).isEqualTo("1");
+        assertThat(jdbc.queryForList("select product_name from order_lines where order_id = ? order by product_name", String.class, orderId))
+                .containsExactly("Laptop", "Mouse");
+        assertThat(jdbc.queryForObject("select total from orders where order_id = ?", BigDecimal.class, orderId)).isEqualByComparingTo("2520.00");
+        assertThat(jdbc.queryForObject("select total from orders where order_id = ?", BigDecimal.class, emptyOrderId)).isEqualByComparingTo("0");
+        assertThat(jdbc.queryForObject("select version from clients where client_id = ?", Long.class, clientId)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from information_schema.tables where table_name = 'order_products'", Integer.class))
+                .isZero();
+    }
+
+    /**
+     * PostgreSQL's {@code setval(sequence, value, isCalled)}, registered in H2 as an alias.
+     */
+    public static long setval(Connection connection, String sequence, long value, boolean isCalled) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("alter sequence " + sequence + " restart with " + (isCalled ? value + 1 : value));
+        }
+        return value;
+    }
+
+    private static Flyway flyway(String url, String location, String target) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations(location)
+                .javaMigrations(new V2__MigrateOrderProducts())
+                .target(target)
+                .load();
+    }
+}
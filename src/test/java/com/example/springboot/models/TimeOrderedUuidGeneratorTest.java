@@ -0,0 +1,46 @@
+package com.example.springboot.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void next_ShouldReturnVersion7Uuid() {
+        UUID uuid = TimeOrderedUuidGenerator.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void next_ShouldBeStrictlyIncreasing_WhenManyIdsShareAMillisecond() {
+        UUID previous = TimeOrderedUuidGenerator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = TimeOrderedUuidGenerator.next();
+            assertThat(current).isGreaterThan(previous);
+            previous = current;
+        }
+    }
+
+    @Test
+    void timestampOf_ShouldReturnCreationTime() {
+        Instant before = Instant.now();
+
+        Instant timestamp = TimeOrderedUuidGenerator.timestampOf(TimeOrderedUuidGenerator.next());
+
+        assertThat(Duration.between(before, timestamp).abs()).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void timestampOf_ShouldThrow_WhenUuidIsRandom() {
+        assertThatThrownBy(() -> TimeOrderedUuidGenerator.timestampOf(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.BulkImportProperties;
+import com.example.springboot.dtos.BulkItemResultDto;
+import com.example.springboot.dtos.BulkResultDto;
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.models.Product;
+import com.example.springboot.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkImporterTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkImporter bulkImporter;
+
+    @BeforeEach
+    void setUp() {
+        bulkImporter = new BulkImporter(Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                entityManager, transactionManager, new BulkImportProperties(2, 1000));
+    }
+
+    @Test
+    void readRecords_ShouldAcceptJsonArrayAndNdjson() throws Exception {
+        var array = "[{\"name\":\"A\",\"value\":1},{\"name\":\"B\",\"value\":2}]";
+        var ndjson = "{\"name\":\"A\",\"value\":1}\n{\"name\":\"B\",\"value\":2}\n";
+
+        assertThat(readAll(array)).extracting(ProductRecordDto::name).containsExactly("A", "B");
+        assertThat(readAll(ndjson)).extracting(ProductRecordDto::name).containsExactly("A", "B");
+    }
+
+    @Test
+    void importAll_ShouldPersistValidRecordsInChunks_AndReportInvalidOnes() {
+        when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.forEach(product -> product.setProductId(UUID.randomUUID()));
+            return products;
+        });
+        var records = List.of(
+                new ProductRecordDto("A", BigDecimal.ONE),
+                new ProductRecordDto("", BigDecimal.ONE),
+                new ProductRecordDto("B", BigDecimal.TEN),
+                new ProductRecordDto("C", BigDecimal.TEN));
+
+        BulkResultDto result = bulkImporter.importAll(records.iterator(), ProductRecordDto::toEntity, productRepository, Product::getProductId);
+
+        assertThat(result.received()).isEqualTo(4);
+        assertThat(result.created()).isEqualTo(3);
+        assertThat(result.items()).extracting(BulkItemResultDto::status).containsExactly(
+                BulkItemResultDto.Status.CREATED, BulkItemResultDto.Status.INVALID,
+                BulkItemResultDto.Status.CREATED, BulkItemResultDto.Status.CREATED);
+        assertThat(result.items().get(1).errors()).containsExactly("name must not be blank");
+        verify(productRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+    }
+
+    @Test
+    void importAll_ShouldMarkWholeChunkFailed_WhenPersistenceFails() {
+        when(productRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        var records = List.of(new ProductRecordDto("A", BigDecimal.ONE), new ProductRecordDto("B", BigDecimal.ONE));
+
+        BulkResultDto result = bulkImporter.importAll(records.iterator(), ProductRecordDto::toEntity, productRepository, Product::getProductId);
+
+        assertThat(result.created()).isZero();
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.items()).extracting(BulkItemResultDto::status)
+                .containsOnly(BulkItemResultDto.Status.FAILED);
+    }
+
+    private List<ProductRecordDto> readAll(String body) throws Exception {
+        var records = new ArrayList<ProductRecordDto>();
+        bulkImporter.readRecords(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ProductRecordDto.class)
+                .forEachRemaining(records::add);
+        return records;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.ChangeEventDto;
+import com.example.springboot.models.ChangeEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeEventBufferTest {
+
+    @Test
+    void readAfter_ShouldReturnEventsAfterSequence_SkippingGaps() {
+        var buffer = new ChangeEventBuffer(4, 0);
+        List.of(1L, 2L, 4L).forEach(sequence -> buffer.append(event(sequence)));
+
+        assertThat(buffer.readAfter(1, 10)).extracting(ChangeEventDto::sequence).containsExactly(2L, 4L);
+        assertThat(buffer.readAfter(2, 1)).extracting(ChangeEventDto::sequence).containsExactly(4L);
+        assertThat(buffer.readAfter(4, 10)).isEmpty();
+    }
+
+    @Test
+    void readAfter_ShouldReturnNull_WhenEventsAfterSequenceWereOverwritten() {
+        var buffer = new ChangeEventBuffer(2, 0);
+        for (long sequence = 1; sequence <= 5; sequence++) {
+            buffer.append(event(sequence));
+        }
+
+        assertThat(buffer.floor()).isEqualTo(3);
+        assertThat(buffer.readAfter(2, 10)).isNull();
+        assertThat(buffer.readAfter(3, 10)).extracting(ChangeEventDto::sequence).containsExactly(4L, 5L);
+    }
+
+    @Test
+    void awaitAfter_ShouldReturnTrue_WhenEventIsAppendedWhileWaiting() throws Exception {
+        var buffer = new ChangeEventBuffer(4, 0);
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            buffer.append(event(1));
+        });
+
+        assertThat(buffer.awaitAfter(0, TimeUnit.SECONDS.toNanos(5))).isTrue();
+        assertThat(buffer.awaitAfter(1, TimeUnit.MILLISECONDS.toNanos(10))).isFalse();
+    }
+
+    private static ChangeEventDto event(long sequence) {
+        return new ChangeEventDto(sequence, ChangeEvent.Resource.PRODUCT, UUID.randomUUID(), ChangeEvent.Action.UPDATED, null, Instant.now());
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.springboot.services;
 
 import com.example.springboot.dtos.ClientRecordDto;
+import com.example.springboot.dtos.ClientSnapshot;
+import com.example.springboot.dtos.CursorPage;
+import com.example.springboot.dtos.DeleteCandidate;
+import com.example.springboot.exceptions.DatabaseConstraintViolationException;
+import com.example.springboot.exceptions.PreconditionFailedException;
 import com.example.springboot.exceptions.ResourceNotFoundException;
 import com.example.springboot.models.Client;
 import com.example.springboot.repositories.ClientRepository;
@@ -8,12 +13,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.beans.BeanUtils;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,14 +34,19 @@ public class ClientServiceTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private BulkImporter bulkImporter;
+
+    @Spy
+    private EntityCache<ClientSnapshot> clientCache = EntityCache.disabled();
+
     @InjectMocks
     private ClientService clientService;
 
     @Test
     void saveClient_ShouldReturnSavedClient_WhenValidInput() {
         ClientRecordDto clientRecordDto = new ClientRecordDto("John", "john123", "john@example.com");
-        Client savedClient = new Client();
-        BeanUtils.copyProperties(clientRecordDto, savedClient);
+        Client savedClient = clientRecordDto.toEntity();
 
         when(clientRepository.save(any(Client.class))).thenReturn(savedClient);
 
@@ -56,6 +68,48 @@ public class ClientServiceTest {
         verify(clientRepository, times(1)).findAll();
     }
 
+    @Test
+    void getClientsPage_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        Client client1 = client(UUID.randomUUID());
+        Client client2 = client(UUID.randomUUID());
+        Client client3 = client(UUID.randomUUID());
+        when(clientRepository.findAllByOrderByClientIdAsc(Limit.of(3))).thenReturn(List.of(client1, client2, client3));
+
+        CursorPage<Client> result = clientService.getClientsPage(null, null, 2);
+
+        assertThat(result.content()).containsExactly(client1, client2);
+        assertThat(result.nextCursor()).isEqualTo(client2.getClientId());
+        assertThat(result.previousCursor()).isNull();
+    }
+
+    @Test
+    void getClientsPage_ShouldReturnPreviousCursor_WhenPagingAfterCursor() {
+        UUID after = UUID.randomUUID();
+        Client client1 = client(UUID.randomUUID());
+        when(clientRepository.findByClientIdGreaterThanOrderByClientIdAsc(after, Limit.of(3))).thenReturn(List.of(client1));
+
+        CursorPage<Client> result = clientService.getClientsPage(after, null, 2);
+
+        assertThat(result.content()).containsExactly(client1);
+        assertThat(result.nextCursor()).isNull();
+        assertThat(result.previousCursor()).isEqualTo(client1.getClientId());
+    }
+
+    @Test
+    void getClientsPage_ShouldReturnAscendingContent_WhenPagingBeforeCursor() {
+        UUID before = UUID.randomUUID();
+        Client client1 = client(UUID.randomUUID());
+        Client client2 = client(UUID.randomUUID());
+        Client client3 = client(UUID.randomUUID());
+        when(clientRepository.findByClientIdLessThanOrderByClientIdDesc(before, Limit.of(3))).thenReturn(List.of(client3, client2, client1));
+
+        CursorPage<Client> result = clientService.getClientsPage(null, before, 2);
+
+        assertThat(result.content()).containsExactly(client2, client3);
+        assertThat(result.previousCursor()).isEqualTo(client2.getClientId());
+        assertThat(result.nextCursor()).isEqualTo(client3.getClientId());
+    }
+
     @Test
     void getClientById_ShouldReturnClient_WhenExists() {
         UUID id = UUID.randomUUID();
@@ -83,33 +137,113 @@ public class ClientServiceTest {
         ClientRecordDto clientRecordDto = new ClientRecordDto("John", "john123", "john@example.com");
         Client client = new Client();
         when(clientRepository.findById(eq(id))).thenReturn(Optional.of(client));
-        when(clientRepository.save(any(Client.class))).thenReturn(client);
+        when(clientRepository.saveAndFlush(any(Client.class))).thenReturn(client);
 
         Client result = clientService.updateClient(id, clientRecordDto);
 
         assertThat(result).isEqualTo(client);
-        verify(clientRepository, times(1)).save(any(Client.class));
+        verify(clientRepository, times(1)).saveAndFlush(any(Client.class));
     }
 
     @Test
-    void deleteClient_ShouldDeleteClient_WhenExists() {
+    void updateClient_ShouldCopyFieldsAndKeepId_WhenValidInput() {
         UUID id = UUID.randomUUID();
+        ClientRecordDto clientRecordDto = new ClientRecordDto("John", "john123", "john@example.com");
         Client client = new Client();
+        client.setClientId(id);
+        client.setName("Old name");
         when(clientRepository.findById(eq(id))).thenReturn(Optional.of(client));
+        when(clientRepository.saveAndFlush(any(Client.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        clientService.deleteClient(id);
+        Client result = clientService.updateClient(id, clientRecordDto);
 
-        verify(clientRepository, times(1)).delete(client);
+        assertThat(result.getClientId()).isEqualTo(id);
+        assertThat(result.getName()).isEqualTo("John");
+        assertThat(result.getLogin()).isEqualTo("john123");
+        assertThat(result.getEmail()).isEqualTo("john@example.com");
     }
 
     @Test
-    void deleteClient_ShouldThrowDatabaseConstraintViolationException_WhenDataIntegrityViolation() {
+    void updateClient_ShouldThrowPreconditionFailed_WhenExpectedVersionIsStale() {
         UUID id = UUID.randomUUID();
+        ClientRecordDto clientRecordDto = new ClientRecordDto("John", "john123", "john@example.com");
         Client client = new Client();
+        client.setVersion(2L);
         when(clientRepository.findById(eq(id))).thenReturn(Optional.of(client));
-        doThrow(DataIntegrityViolationException.class).when(clientRepository).delete(client);
 
-        assertThrows(RuntimeException.class, () -> clientService.deleteClient(id));
-        verify(clientRepository, times(1)).delete(client);
+        assertThrows(PreconditionFailedException.class, () -> clientService.updateClient(id, clientRecordDto, List.of("1")));
+        verify(clientRepository, never()).saveAndFlush(any(Client.class));
+    }
+
+    @Test
+    void deleteClient_ShouldDeleteClient_WhenExists() {
+        UUID id = UUID.randomUUID();
+        when(clientRepository.findDeleteCandidates(Set.of(id))).thenReturn(List.of(new DeleteCandidate(id, false)));
+        when(clientRepository.deleteByIds(List.of(id))).thenReturn(1);
+
+        clientService.deleteClient(id);
+
+        verify(clientRepository, times(1)).deleteByIds(List.of(id));
+        verify(clientRepository, never()).findById(any());
+    }
+
+    @Test
+    void deleteClient_ShouldThrowDatabaseConstraintViolationException_WhenOrdersReferenceIt() {
+        UUID id = UUID.randomUUID();
+        when(clientRepository.findDeleteCandidates(Set.of(id))).thenReturn(List.of(new DeleteCandidate(id, true)));
+
+        assertThrows(DatabaseConstraintViolationException.class, () -> clientService.deleteClient(id));
+        verify(clientRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void deleteClient_ShouldThrowResourceNotFound_WhenMissing() {
+        UUID id = UUID.randomUUID();
+        when(clientRepository.findDeleteCandidates(Set.of(id))).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> clientService.deleteClient(id));
+        verify(clientRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void deleteClient_ShouldThrowDatabaseConstraintViolationException_WhenOrderIsAddedConcurrently() {
+        UUID id = UUID.randomUUID();
+        when(clientRepository.findDeleteCandidates(Set.of(id))).thenReturn(List.of(new DeleteCandidate(id, false)));
+        when(clientRepository.deleteByIds(List.of(id))).thenThrow(DataIntegrityViolationException.class);
+
+        assertThrows(DatabaseConstraintViolationException.class, () -> clientService.deleteClient(id));
+    }
+
+    @Test
+    void deleteClient_ShouldThrowDatabaseConstraintViolationException_WhenCommittedOrderSkipsTheDelete() {
+        UUID id = UUID.randomUUID();
+        when(clientRepository.findDeleteCandidates(Set.of(id))).thenReturn(List.of(new DeleteCandidate(id, false)));
+        when(clientRepository.deleteByIds(List.of(id))).thenReturn(0);
+        when(clientRepository.findDeleteCandidates(List.of(id))).thenReturn(List.of(new DeleteCandidate(id, true)));
+
+        assertThrows(DatabaseConstraintViolationException.class, () -> clientService.deleteClient(id));
+    }
+
+    @Test
+    void deleteClients_ShouldDeleteUnreferencedClients_AndReportTheOthers() {
+        UUID free = UUID.randomUUID();
+        UUID referenced = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(clientRepository.findDeleteCandidates(Set.of(free, referenced, missing)))
+                .thenReturn(List.of(new DeleteCandidate(referenced, true), new DeleteCandidate(free, false)));
+        when(clientRepository.deleteByIds(List.of(free))).thenReturn(1);
+
+        var result = clientService.deleteClients(List.of(free, referenced, missing, free));
+
+        assertThat(result.requested()).isEqualTo(3);
+        assertThat(result.deleted()).containsExactly(free);
+        assertThat(result.inUse()).containsExactly(referenced);
+        assertThat(result.notFound()).containsExactly(missing);
+    }
+
+    private static Client client(UUID id) {
+        Client client = new Client();
+        client.setClientId(id);
+        return client;
     }
 }
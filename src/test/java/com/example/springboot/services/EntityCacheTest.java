@@ -0,0 +1,97 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.EntityCacheProperties;
+import com.example.springboot.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EntityCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldLoadOnce_AndReportHitsAndMisses() {
+        EntityCache<String> cache = EntityCache.create("test", new EntityCacheProperties(true, 10, Duration.ofMinutes(1)), meterRegistry);
+        UUID id = UUID.randomUUID();
+
+        cache.get(id, this::load);
+        cache.get(id, this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_ShouldForceReload() {
+        EntityCache<String> cache = EntityCache.create("test", new EntityCacheProperties(true, 10, Duration.ofMinutes(1)), meterRegistry);
+        UUID id = UUID.randomUUID();
+
+        cache.get(id, this::load);
+        cache.evict(id);
+        cache.get(id, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_ShouldNotCacheFailedLoads() {
+        EntityCache<String> cache = EntityCache.create("test", new EntityCacheProperties(true, 10, Duration.ofMinutes(1)), meterRegistry);
+        UUID id = UUID.randomUUID();
+
+        assertThrows(ResourceNotFoundException.class, () -> cache.get(id, key -> {
+            throw new ResourceNotFoundException("not found");
+        }));
+        assertThat(cache.get(id, this::load)).isEqualTo(id.toString());
+    }
+
+    @Test
+    void getAll_ShouldLoadOnlyMissingIds() {
+        EntityCache<String> cache = EntityCache.create("test", new EntityCacheProperties(true, 10, Duration.ofMinutes(1)), meterRegistry);
+        UUID cached = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        cache.get(cached, this::load);
+
+        Map<UUID, String> result = cache.getAll(List.of(cached, missing), ids -> {
+            assertThat(ids).containsExactly(missing);
+            return ids.stream().collect(Collectors.toMap(Function.identity(), this::load));
+        });
+
+        assertThat(result).containsOnlyKeys(cached, missing);
+    }
+
+    @Test
+    void disabledCache_ShouldAlwaysLoad() {
+        EntityCache<String> cache = EntityCache.create("test", new EntityCacheProperties(false, 10, Duration.ofMinutes(1)), meterRegistry);
+        UUID id = UUID.randomUUID();
+
+        cache.get(id, this::load);
+        cache.get(id, this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.find("cache.gets").functionCounter()).isNull();
+    }
+
+    private String load(UUID id) {
+        loads.incrementAndGet();
+        return id.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.IdempotencyProperties;
+import com.example.springboot.models.IdempotencyRecord;
+import com.example.springboot.repositories.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IdempotencyStoreTest {
+    private static final IdempotencyStore.Response CREATED =
+            new IdempotencyStore.Response(201, "application/json", null, null, "{}".getBytes(StandardCharsets.UTF_8));
+
+    private IdempotencyRecordRepository repository;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        store = newStore();
+    }
+
+    @Test
+    void claim_ShouldHandDuplicatesTheRunningRequest_AndReplayItOnceCompleted() {
+        assertThat(store.claim("key", "a")).isInstanceOf(IdempotencyStore.Claim.Claimed.class);
+
+        var duplicate = store.claim("key", "a");
+        assertThat(duplicate).isInstanceOf(IdempotencyStore.Claim.InFlight.class);
+        store.complete("key", CREATED);
+
+        assertThat(((IdempotencyStore.Claim.InFlight) duplicate).response()).isCompletedWithValue(CREATED);
+        assertThat(store.claim("key", "a")).isEqualTo(new IdempotencyStore.Claim.Completed(CREATED));
+        verify(repository).insertClaim(eq("key"), eq("a"), any(), any());
+        verify(repository).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void claim_ShouldReportMismatch_WhenKeyIsReusedForAnotherRequest() {
+        store.claim("key", "a");
+        assertThat(store.claim("key", "b")).isInstanceOf(IdempotencyStore.Claim.Mismatch.class);
+
+        store.complete("key", CREATED);
+        assertThat(store.claim("key", "b")).isInstanceOf(IdempotencyStore.Claim.Mismatch.class);
+    }
+
+    @Test
+    void release_ShouldLetTheKeyBeClaimedAgain_WithoutStoringAResponse() {
+        store.claim("key", "a");
+        var duplicate = (IdempotencyStore.Claim.InFlight) store.claim("key", "a");
+
+        store.release("key");
+
+        assertThat(duplicate.response()).isCompletedWithValue(null);
+        assertThat(store.claim("key", "a")).isInstanceOf(IdempotencyStore.Claim.Claimed.class);
+        verify(repository).deleteClaim("key");
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void claim_ShouldReplayFromTheDatabase_WhenAnotherInstanceCompletedTheKey() {
+        var record = claimRecord(Instant.now().plusSeconds(60));
+        record.setStatus(201);
+        record.setContentType("application/json");
+        record.setBody(CREATED.body());
+        when(repository.findById("key")).thenReturn(Optional.of(record));
+
+        var claim = store.claim("key", "a");
+
+        assertThat(claim).isInstanceOf(IdempotencyStore.Claim.Completed.class);
+        assertThat(((IdempotencyStore.Claim.Completed) claim).response().status()).isEqualTo(201);
+        store.claim("key", "a");
+        verify(repository).findById("key");
+        verify(repository, never()).insertClaim(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void claim_ShouldWaitAndCheckAgain_WhenAnotherInstanceHoldsTheKey() {
+        when(repository.findById("key")).thenReturn(Optional.of(claimRecord(Instant.now().plusSeconds(60))));
+
+        var claim = store.claim("key", "a");
+
+        assertThat(claim).isInstanceOf(IdempotencyStore.Claim.InFlight.class);
+        assertThat(((IdempotencyStore.Claim.InFlight) claim).response()).succeedsWithin(Duration.ofSeconds(1)).isNull();
+        assertThat(store.claim("key", "b")).isInstanceOf(IdempotencyStore.Claim.Mismatch.class);
+        verify(repository, never()).insertClaim(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void claim_ShouldWaitAndCheckAgain_WhenAnotherInstanceClaimsTheKeyConcurrently() {
+        when(repository.insertClaim(eq("key"), eq("a"), any(), any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        var claim = store.claim("key", "a");
+
+        assertThat(claim).isInstanceOf(IdempotencyStore.Claim.InFlight.class);
+        assertThat(((IdempotencyStore.Claim.InFlight) claim).response()).succeedsWithin(Duration.ofSeconds(1)).isNull();
+    }
+
+    @Test
+    void claim_ShouldTakeOverTheKey_WhenAnotherInstancesClaimExpired() {
+        when(repository.findById("key")).thenReturn(Optional.of(claimRecord(Instant.now().minusSeconds(1))));
+
+        assertThat(store.claim("key", "a")).isInstanceOf(IdempotencyStore.Claim.Claimed.class);
+        verify(repository).deleteExpired(eq("key"), any());
+        verify(repository).insertClaim(eq("key"), eq("a"), any(), any());
+    }
+
+    private static IdempotencyRecord claimRecord(Instant expiresAt) {
+        var record = new IdempotencyRecord();
+        record.setIdempotencyKey("key");
+        record.setFingerprint("a");
+        record.setCreatedAt(Instant.now());
+        record.setExpiresAt(expiresAt);
+        return record;
+    }
+
+    private IdempotencyStore newStore() {
+        var properties = new IdempotencyProperties(Duration.ofHours(1), 100, 4, Duration.ofSeconds(1), DataSize.ofKilobytes(64), Duration.ofMinutes(1));
+        return new IdempotencyStore(repository, mock(PlatformTransactionManager.class), properties, new SimpleMeterRegistry());
+    }
+}
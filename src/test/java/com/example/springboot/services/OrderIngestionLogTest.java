@@ -0,0 +1,92 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.PendingOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderIngestionLogTest {
+
+    private static final long COMPACTION_SIZE = 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void recover_ShouldReturnAcceptedOrders_WhenNotMarkedWritten() throws Exception {
+        var written = pendingOrder();
+        var unwritten = pendingOrder();
+        try (var ingestionLog = new OrderIngestionLog(directory, objectMapper, COMPACTION_SIZE)) {
+            ingestionLog.append(written);
+            ingestionLog.append(unwritten);
+            ingestionLog.markWritten(List.of(written.orderId()));
+        }
+
+        try (var reopened = new OrderIngestionLog(directory, objectMapper, COMPACTION_SIZE)) {
+            assertThat(reopened.recover()).containsExactly(unwritten);
+        }
+    }
+
+    @Test
+    void recover_ShouldSkipTornLastLine() throws Exception {
+        var order = pendingOrder();
+        try (var ingestionLog = new OrderIngestionLog(directory, objectMapper, COMPACTION_SIZE)) {
+            ingestionLog.append(order);
+        }
+        Files.writeString(directory.resolve("orders.log"), "{\"accepted\":{\"orderId\":\"01", StandardOpenOption.APPEND);
+
+        try (var reopened = new OrderIngestionLog(directory, objectMapper, COMPACTION_SIZE)) {
+            assertThat(reopened.recover()).containsExactly(order);
+        }
+    }
+
+    @Test
+    void markWritten_ShouldCompactLog_WhenItOutgrowsCompactionSize_EvenIfNeverIdle() throws Exception {
+        var unwritten = pendingOrder();
+        try (var ingestionLog = new OrderIngestionLog(directory, objectMapper, COMPACTION_SIZE)) {
+            ingestionLog.append(unwritten);
+            for (int i = 0; i < 100; i++) {
+                var order = pendingOrder();
+                ingestionLog.append(order);
+                ingestionLog.markWritten(List.of(order.orderId()));
+            }
+
+            assertThat(Files.size(directory.resolve("orders.log"))).isLessThan(2 * COMPACTION_SIZE);
+        }
+
+        try (var reopened = new OrderIngestionLog(directory, objectMapper, COMPACTION_SIZE)) {
+            assertThat(reopened.recover()).containsExactly(unwritten);
+        }
+    }
+
+    @Test
+    void append_ShouldLogEveryOrder_WhenCallersAppendConcurrently() throws Exception {
+        var orders = IntStream.range(0, 200).mapToObj(i -> pendingOrder()).toList();
+        try (var ingestionLog = new OrderIngestionLog(directory, objectMapper, COMPACTION_SIZE);
+             var callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            orders.forEach(order -> callers.submit(() -> ingestionLog.append(order)));
+        }
+
+        try (var reopened = new OrderIngestionLog(directory, objectMapper, COMPACTION_SIZE)) {
+            assertThat(reopened.recover()).containsExactlyInAnyOrderElementsOf(orders);
+        }
+    }
+
+    private static PendingOrder pendingOrder() {
+        return new PendingOrder(UUID.randomUUID(), UUID.randomUUID(), Map.of(UUID.randomUUID(), 1), LocalDateTime.now().withNano(0));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.springboot.services;
+
+import com.example.springboot.configs.OrderIngestionProperties;
+import com.example.springboot.dtos.OrderRecordDto;
+import com.example.springboot.dtos.OrderStatusDto;
+import com.example.springboot.exceptions.TooManyRequestsException;
+import com.example.springboot.models.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIngestionServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ClientService clientService;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private OrderSummaryService orderSummaryService;
+
+    @Mock
+    private ChangeEventService changeEventService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private OrderIngestionLog ingestionLog;
+    private OrderIngestionService orderIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        ingestionLog = new OrderIngestionLog(directory, new ObjectMapper().findAndRegisterModules(), DataSize.ofMegabytes(16).toBytes());
+        orderIngestionService = service(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        orderIngestionService.stop();
+        ingestionLog.close();
+    }
+
+    @Test
+    void submit_ShouldLogAndQueueOrder_WhenClientAndProductsExist() {
+        var orderRecordDto = new OrderRecordDto(UUID.randomUUID(), List.of(UUID.randomUUID()));
+
+        OrderStatusDto status = orderIngestionService.submit(orderRecordDto);
+
+        assertThat(status.status()).isEqualTo(OrderStatusDto.Status.QUEUED);
+        assertThat(orderIngestionService.getStatus(status.orderId())).isEqualTo(status);
+        assertThat(ingestionLog.recover()).singleElement().satisfies(order -> {
+            assertThat(order.orderId()).isEqualTo(status.orderId());
+            assertThat(order.clientId()).isEqualTo(orderRecordDto.clientId());
+        });
+        verify(clientService).getClientById(orderRecordDto.clientId());
+        verify(productService).getProductsByIds(orderRecordDto.quantities().keySet());
+    }
+
+    @Test
+    void submit_ShouldThrowTooManyRequests_WhenQueueIsFull() {
+        var orderRecordDto = new OrderRecordDto(UUID.randomUUID(), List.of(UUID.randomUUID()));
+        orderIngestionService.submit(orderRecordDto);
+
+        assertThrows(TooManyRequestsException.class, () -> orderIngestionService.submit(orderRecordDto));
+        assertThat(ingestionLog.recover()).hasSize(1);
+    }
+
+    @Test
+    void write_ShouldKeepOrderQueuedAndRetry_WhenDatabaseIsUnavailable() throws Exception {
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("Connection refused"))
+                .thenReturn(new SimpleTransactionStatus());
+        when(orderService.getOrderStatus(any())).thenAnswer(invocation -> OrderStatusDto.created(invocation.getArgument(0)));
+        orderIngestionService.start();
+
+        var status = orderIngestionService.submit(new OrderRecordDto(UUID.randomUUID(), List.of(UUID.randomUUID())));
+
+        awaitStatus(status.orderId(), OrderStatusDto.Status.CREATED);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(entityManager).persist(any(Order.class));
+        assertThat(ingestionLog.recover()).isEmpty();
+    }
+
+    @Test
+    void write_ShouldMarkOrderFailed_WhenDatabaseRejectsIt() throws Exception {
+        doThrow(new DataIntegrityViolationException("Duplicate order")).when(entityManager).flush();
+        orderIngestionService.start();
+
+        var status = orderIngestionService.submit(new OrderRecordDto(UUID.randomUUID(), List.of(UUID.randomUUID())));
+
+        awaitStatus(status.orderId(), OrderStatusDto.Status.FAILED);
+        assertThat(orderIngestionService.getStatus(status.orderId()).message()).isEqualTo("Duplicate order");
+        assertThat(ingestionLog.recover()).isEmpty();
+    }
+
+    @Test
+    void write_ShouldMarkOrderFailed_AfterMaxAttempts_WhenItKeepsFailingForAnotherReason() throws Exception {
+        doThrow(new NullPointerException("Cannot read the product price")).when(entityManager).flush();
+        orderIngestionService.start();
+
+        var status = orderIngestionService.submit(new OrderRecordDto(UUID.randomUUID(), List.of(UUID.randomUUID())));
+
+        awaitStatus(status.orderId(), OrderStatusDto.Status.FAILED);
+        assertThat(orderIngestionService.getStatus(status.orderId()).message()).isEqualTo("Cannot read the product price");
+        // each try writes the batch, then the order alone
+        verify(entityManager, times(4)).flush();
+        assertThat(ingestionLog.recover()).isEmpty();
+    }
+
+    @Test
+    void write_ShouldWriteTheRestOfTheBatch_WhenOneOrderFailsForAnotherReason() throws Exception {
+        orderIngestionService = service(2);
+        var bad = orderIngestionService.submit(new OrderRecordDto(UUID.randomUUID(), List.of(UUID.randomUUID())));
+        var good = orderIngestionService.submit(new OrderRecordDto(UUID.randomUUID(), List.of(UUID.randomUUID())));
+        doAnswer(invocation -> {
+            if (invocation.<Order>getArgument(0).getOrderId().equals(bad.orderId())) {
+                throw new IllegalStateException("Unmapped line");
+            }
+            return null;
+        }).when(entityManager).persist(any(Order.class));
+        when(orderService.getOrderStatus(good.orderId())).thenReturn(OrderStatusDto.created(good.orderId()));
+        orderIngestionService.start();
+
+        awaitStatus(good.orderId(), OrderStatusDto.Status.CREATED);
+        awaitStatus(bad.orderId(), OrderStatusDto.Status.FAILED);
+        assertThat(ingestionLog.recover()).isEmpty();
+    }
+
+    private OrderIngestionService service(int queueCapacity) {
+        var properties = new OrderIngestionProperties(true, queueCapacity, 500, Duration.ofMillis(20), 2, directory, DataSize.ofMegabytes(16));
+        return new OrderIngestionService(orderService, clientService, productService, orderSummaryService, changeEventService, entityManager,
+                transactionManager, ingestionLog, properties, new SimpleMeterRegistry());
+    }
+
+    private void awaitStatus(UUID orderId, OrderStatusDto.Status expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && orderIngestionService.getStatus(orderId).status() != expected; attempt++) {
+            Thread.sleep(50);
+        }
+        assertThat(orderIngestionService.getStatus(orderId).status()).isEqualTo(expected);
+    }
+}
@@ -1,17 +1,23 @@
 package com.example.springboot.services;
 
+import com.example.springboot.dtos.CursorPage;
 import com.example.springboot.dtos.OrderRecordDto;
+import com.example.springboot.dtos.OrderTotal;
 import com.example.springboot.exceptions.ResourceNotFoundException;
 import com.example.springboot.models.Client;
 import com.example.springboot.models.Order;
+import com.example.springboot.models.OrderLine;
 import com.example.springboot.models.Product;
 import com.example.springboot.repositories.OrderRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.UUID;
@@ -31,6 +37,15 @@ public class OrderServiceTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private OrderSummaryService orderSummaryService;
+
+    @Mock
+    private ChangeEventService changeEventService;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -45,6 +60,32 @@ public class OrderServiceTest {
         verify(orderRepository, times(1)).findAll();
     }
 
+    @Test
+    public void getOrdersPage_ShouldRequestOneExtraRow_AndExposeNextCursor() {
+        Order first = new Order();
+        first.setOrderId(UUID.randomUUID());
+        Order second = new Order();
+        second.setOrderId(UUID.randomUUID());
+        when(orderRepository.findAllByOrderByOrderIdAsc(Limit.of(2))).thenReturn(List.of(first, second));
+
+        CursorPage<Order> result = orderService.getOrdersPage(null, null, 1);
+
+        assertThat(result.content()).containsExactly(first);
+        assertThat(result.nextCursor()).isEqualTo(first.getOrderId());
+        assertThat(result.previousCursor()).isNull();
+    }
+
+    @Test
+    public void streamAllOrders_ShouldPassEveryOrderToConsumer() {
+        List<Order> orders = Arrays.asList(new Order(), new Order());
+        when(orderRepository.streamAll()).thenReturn(orders.stream());
+
+        List<Order> consumed = new ArrayList<>();
+        orderService.streamAllOrders(consumed::add);
+
+        assertThat(consumed).containsExactlyElementsOf(orders);
+    }
+
     @Test
     public void getOrderById_ShouldReturnOrder() {
         UUID orderId = UUID.randomUUID();
@@ -71,22 +112,33 @@ public class OrderServiceTest {
         UUID clientId = UUID.randomUUID();
         OrderRecordDto orderRecordDto = new OrderRecordDto(clientId, Arrays.asList(UUID.randomUUID(), UUID.randomUUID()));
         Client client = new Client();
-        Set<Product> products = new HashSet<>(Arrays.asList(new Product(), new Product()));
-        Order order = new Order();
-        order.setOrderedAt(LocalDateTime.now());
+        List<OrderLine> lines = List.of(line("Keyboard", "150.00", 2), line("Mouse", "50.00", 1));
 
         when(clientService.getClientById(clientId)).thenReturn(client);
-        for (Product product : products) {
-            when(productService.getProductById(any())).thenReturn(product);
-        }
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(productService.priceLines(orderRecordDto.quantities())).thenReturn(lines);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Order result = orderService.save(orderRecordDto);
 
         assertThat(result).isNotNull();
+        assertThat(result.getLines()).hasSize(2).allSatisfy(line -> assertThat(line.getOrder()).isSameAs(result));
+        assertThat(result.getTotal()).isEqualByComparingTo("350.00");
+        verify(productService, times(1)).priceLines(orderRecordDto.quantities());
+        verify(productService, never()).getProductById(any());
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
+    @Test
+    public void saveOrder_ShouldNotPersist_WhenProductsAreMissing() {
+        UUID clientId = UUID.randomUUID();
+        OrderRecordDto orderRecordDto = new OrderRecordDto(clientId, List.of(UUID.randomUUID()));
+        when(productService.priceLines(orderRecordDto.quantities()))
+                .thenThrow(new ResourceNotFoundException("Products not found"));
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.save(orderRecordDto));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     void updateOrder_ShouldReturnUpdatedOrder() {
         UUID id = UUID.randomUUID();
@@ -94,23 +146,44 @@ public class OrderServiceTest {
         OrderRecordDto orderRecordDto = new OrderRecordDto(clientId, Arrays.asList(UUID.randomUUID(), UUID.randomUUID()));
         Order existingOrder = new Order();
         when(orderRepository.findById(id)).thenReturn(Optional.of(existingOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(existingOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(existingOrder);
 
         Order result = orderService.updateOrder(id, orderRecordDto);
 
         assertThat(result).isNotNull();
         verify(orderRepository, times(1)).findById(id);
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderRepository, times(1)).saveAndFlush(any(Order.class));
     }
 
     @Test
     public void deleteOrder_ShouldRemoveOrder() {
         UUID orderId = UUID.randomUUID();
-        Order order = new Order();
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        var total = new OrderTotal(orderId, LocalDateTime.now(), new BigDecimal("10.00"));
+        when(orderRepository.lockForDelete(Set.of(orderId))).thenReturn(1);
+        when(orderRepository.findTotalsByIds(Set.of(orderId))).thenReturn(List.of(total));
 
         orderService.deleteOrder(orderId);
 
-        verify(orderRepository, times(1)).delete(order);
+        verify(orderRepository).deleteLinesByOrderIds(Set.of(orderId));
+        verify(orderRepository).deleteByIds(Set.of(orderId));
+        verify(orderRepository, never()).findById(any());
+        verify(orderSummaryService).orderRemoved(total);
+    }
+
+    @Test
+    public void deleteOrder_ShouldThrowResourceNotFound_WhenMissing() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.lockForDelete(Set.of(orderId))).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.deleteOrder(orderId));
+        verify(orderRepository, never()).deleteByIds(any());
+    }
+
+    private static OrderLine line(String name, String unitPrice, int quantity) {
+        var product = new Product();
+        product.setProductId(UUID.randomUUID());
+        product.setName(name);
+        product.setValue(new BigDecimal(unitPrice));
+        return OrderLine.of(product, quantity);
     }
 }
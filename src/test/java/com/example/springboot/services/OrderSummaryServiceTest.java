@@ -0,0 +1,73 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.DailyRevenueDto;
+import com.example.springboot.dtos.OrderRecordDto;
+import com.example.springboot.models.Client;
+import com.example.springboot.models.Product;
+import com.example.springboot.repositories.ClientRepository;
+import com.example.springboot.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = "api.reports.summary-table=true")
+class OrderSummaryServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void orderWrites_ShouldKeepDailySummaryInStep() {
+        var client = new Client();
+        client.setName("John Doe");
+        client.setLogin("johndoe");
+        client.setEmail("johndoe@example.com");
+        clientRepository.save(client);
+        var laptop = product("Laptop", "2500.00");
+        var mouse = product("Mouse", "50.00");
+        var before = today();
+
+        var order = orderService.save(new OrderRecordDto(client.getClientId(), List.of(laptop.getProductId())));
+        assertThat(today().orders()).isEqualTo(before.orders() + 1);
+        assertThat(today().revenue()).isEqualByComparingTo(before.revenue().add(new BigDecimal("2500.00")));
+
+        orderService.updateOrder(order.getOrderId(), new OrderRecordDto(client.getClientId(), List.of(mouse.getProductId())));
+        assertThat(today().orders()).isEqualTo(before.orders() + 1);
+        assertThat(today().revenue()).isEqualByComparingTo(before.revenue().add(new BigDecimal("50.00")));
+
+        orderService.deleteOrder(order.getOrderId());
+        assertThat(today().orders()).isEqualTo(before.orders());
+        assertThat(today().revenue()).isEqualByComparingTo(before.revenue());
+    }
+
+    private DailyRevenueDto today() {
+        var today = LocalDate.now();
+        return reportService.getRevenueByDay(today, today).stream()
+                .findFirst()
+                .orElse(new DailyRevenueDto(today, 0, BigDecimal.ZERO));
+    }
+
+    private Product product(String name, String value) {
+        var product = new Product();
+        product.setName(name);
+        product.setValue(new BigDecimal(value));
+        return productRepository.save(product);
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.springboot.services;
 
+import com.example.springboot.dtos.CursorPage;
+import com.example.springboot.dtos.DeleteCandidate;
+import com.example.springboot.dtos.ProductFilter;
 import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.dtos.ProductSnapshot;
 import com.example.springboot.exceptions.DatabaseConstraintViolationException;
+import com.example.springboot.exceptions.InvalidRequestException;
 import com.example.springboot.exceptions.ResourceNotFoundException;
+import com.example.springboot.models.ChangeEvent;
 import com.example.springboot.models.Product;
 import com.example.springboot.repositories.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,13 +16,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.beans.BeanUtils;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +37,15 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private BulkImporter bulkImporter;
+
+    @Mock
+    private ChangeEventService changeEventService;
+
+    @Spy
+    private EntityCache<ProductSnapshot> productCache = EntityCache.disabled();
+
     @InjectMocks
     private ProductService productService;
 
@@ -38,8 +57,7 @@ public class ProductServiceTest {
     void setUp() {
         productId = UUID.randomUUID();
         productRecordDto = new ProductRecordDto("Product A", BigDecimal.valueOf(100.0));
-        product = new Product();
-        BeanUtils.copyProperties(productRecordDto, product);
+        product = productRecordDto.toEntity();
         product.setProductId(productId);
     }
 
@@ -65,6 +83,18 @@ public class ProductServiceTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    @Test
+    void getProductsPage_ShouldReturnLastPage_WithoutNextCursor() {
+        UUID after = UUID.randomUUID();
+        when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(after, Limit.of(11))).thenReturn(List.of(product));
+
+        CursorPage<Product> page = productService.getProductsPage(after, null, 10);
+
+        assertEquals(List.of(product), page.content());
+        assertNull(page.nextCursor());
+        assertEquals(productId, page.previousCursor());
+    }
+
     @Test
     void getProductById_WhenProductExists_ShouldReturnProduct() {
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
@@ -84,33 +114,119 @@ public class ProductServiceTest {
         verify(productRepository, times(1)).findById(productId);
     }
 
+    @Test
+    void getProductsByIds_ShouldResolveAllIdsWithSingleQuery() {
+        List<UUID> ids = List.of(productId, productId);
+        when(productRepository.findAllById(Set.of(productId))).thenReturn(List.of(product));
+
+        Set<Product> products = productService.getProductsByIds(ids);
+
+        assertEquals(Set.of(product), products);
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void priceLines_ShouldCaptureCurrentNameAndValue_WithRequestedQuantities() {
+        when(productRepository.findAllById(Set.of(productId))).thenReturn(List.of(product));
+
+        var lines = productService.priceLines(Map.of(productId, 3));
+
+        assertEquals(1, lines.size());
+        assertEquals(productId, lines.get(0).getProductId());
+        assertEquals("Product A", lines.get(0).getProductName());
+        assertEquals(3, lines.get(0).getQuantity());
+        assertEquals(0, BigDecimal.valueOf(300.0).compareTo(lines.get(0).getLineTotal()));
+    }
+
+    @Test
+    void getProductsByIds_WhenSomeProductsDoNotExist_ShouldReportEveryMissingId() {
+        UUID missing1 = UUID.randomUUID();
+        UUID missing2 = UUID.randomUUID();
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+
+        var exception = assertThrows(ResourceNotFoundException.class,
+                () -> productService.getProductsByIds(List.of(missing1, productId, missing2)));
+
+        assertTrue(exception.getMessage().contains(missing1.toString()));
+        assertTrue(exception.getMessage().contains(missing2.toString()));
+        assertFalse(exception.getMessage().contains(productId.toString()));
+    }
+
     @Test
     void updateProduct_ShouldReturnUpdatedProduct() {
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
 
         Product updatedProduct = productService.updateProduct(productId, productRecordDto);
 
         assertNotNull(updatedProduct);
         assertEquals(productId, updatedProduct.getProductId());
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
     }
 
     @Test
     void deleteProduct_ShouldDeleteProductSuccessfully() {
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productRepository.findDeleteCandidates(Set.of(productId))).thenReturn(List.of(new DeleteCandidate(productId, false)));
+        when(productRepository.deleteByIds(List.of(productId))).thenReturn(1);
 
         productService.deleteProduct(productId);
 
-        verify(productRepository, times(1)).delete(product);
+        verify(productRepository, times(1)).deleteByIds(List.of(productId));
+        verify(productRepository, never()).findById(any());
+        verify(changeEventService).record(ChangeEvent.Resource.PRODUCT, productId, ChangeEvent.Action.DELETED, null);
+    }
+
+    @Test
+    void deleteProduct_WhenOrderLinesReferenceIt_ShouldThrowWithoutDeleting() {
+        when(productRepository.findDeleteCandidates(Set.of(productId))).thenReturn(List.of(new DeleteCandidate(productId, true)));
+
+        assertThrows(DatabaseConstraintViolationException.class, () -> productService.deleteProduct(productId));
+        verify(productRepository, never()).deleteByIds(any());
+        verifyNoInteractions(changeEventService);
     }
 
     @Test
     void deleteProduct_WhenConstraintViolation_ShouldThrowException() {
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        doThrow(DataIntegrityViolationException.class).when(productRepository).delete(product);
+        when(productRepository.findDeleteCandidates(Set.of(productId))).thenReturn(List.of(new DeleteCandidate(productId, false)));
+        when(productRepository.deleteByIds(List.of(productId))).thenThrow(DataIntegrityViolationException.class);
+
+        assertThrows(DatabaseConstraintViolationException.class, () -> productService.deleteProduct(productId));
+    }
+
+    @Test
+    void deleteProduct_WhenReferencedBetweenCheckAndDelete_ShouldThrowWithoutDeleting() {
+        when(productRepository.findDeleteCandidates(Set.of(productId))).thenReturn(List.of(new DeleteCandidate(productId, false)));
+        when(productRepository.deleteByIds(List.of(productId))).thenReturn(0);
+        when(productRepository.findDeleteCandidates(List.of(productId))).thenReturn(List.of(new DeleteCandidate(productId, true)));
 
         assertThrows(DatabaseConstraintViolationException.class, () -> productService.deleteProduct(productId));
-        verify(productRepository, times(1)).delete(product);
+        verifyNoInteractions(changeEventService);
+    }
+
+    @Test
+    void deleteProduct_WhenDeletedBetweenCheckAndDelete_ShouldThrowOptimisticLockingFailure() {
+        when(productRepository.findDeleteCandidates(Set.of(productId))).thenReturn(List.of(new DeleteCandidate(productId, false)));
+        when(productRepository.deleteByIds(List.of(productId))).thenReturn(0);
+        when(productRepository.findDeleteCandidates(List.of(productId))).thenReturn(List.of());
+
+        assertThrows(OptimisticLockingFailureException.class, () -> productService.deleteProduct(productId));
+    }
+
+    @Test
+    void deleteProduct_WhenMissing_ShouldThrowResourceNotFound() {
+        when(productRepository.findDeleteCandidates(Set.of(productId))).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(productId));
+        verify(productRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void searchProducts_ShouldThrowInvalidRequest_WhenSortFieldIsNotIndexed() {
+        var filter = new ProductFilter("Product", null, null, null);
+
+        assertThrows(InvalidRequestException.class, () -> productService.searchProducts(filter, "version,desc", 0, 10));
+        assertThrows(InvalidRequestException.class, () -> productService.searchProducts(filter, "value,sideways", 0, 10));
+        verifyNoInteractions(productRepository);
     }
 }
@@ -0,0 +1,81 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.ClientRecordDto;
+import com.example.springboot.dtos.OrderRecordDto;
+import com.example.springboot.dtos.ProductRecordDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each service call is one use case and should cost one transaction on one connection; reads
+ * should not flush.
+ */
+@SpringBootTest
+class TransactionBoundaryTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void updateProduct_ShouldUseOneTransactionAndConnection() {
+        var product = productService.save(new ProductRecordDto("Boundary product", BigDecimal.ONE));
+        statistics.clear();
+
+        productService.updateProduct(product.getProductId(), new ProductRecordDto("Boundary product", BigDecimal.TEN));
+
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        assertThat(statistics.getConnectCount()).isEqualTo(1);
+    }
+
+    @Test
+    void saveOrder_ShouldUseOneTransactionAndConnection() {
+        var client = clientService.save(new ClientRecordDto("Boundary client", "boundary-client", "boundary@example.com"));
+        var first = productService.save(new ProductRecordDto("Boundary first", BigDecimal.ONE));
+        var second = productService.save(new ProductRecordDto("Boundary second", BigDecimal.TWO));
+        statistics.clear();
+
+        orderService.save(new OrderRecordDto(client.getClientId(), List.of(first.getProductId(), second.getProductId())));
+
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        assertThat(statistics.getConnectCount()).isEqualTo(1);
+    }
+
+    @Test
+    void readPaths_ShouldNotFlush() {
+        productService.save(new ProductRecordDto("Boundary read", BigDecimal.ONE));
+        statistics.clear();
+
+        productService.getAllProducts();
+        orderService.getAllOrders();
+        clientService.getAllClients();
+
+        assertThat(statistics.getFlushCount()).isZero();
+        assertThat(statistics.getConnectCount()).isEqualTo(3);
+    }
+}